@@ -1,57 +1,86 @@
 package com.example.animeservice.aspect;
 
 import com.example.animeservice.exception.EntityNotFoundException;
-import java.util.Arrays;
+import com.example.animeservice.service.MetricsService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 
 
+/**
+ * Logs controller calls and records their latency. Entry and exit lines are sampled and their
+ * arguments and results are rendered lazily as bounded {@link RequestLogValue} summaries, so
+ * the cost per request stays small even for large responses. Slow calls are always logged.
+ */
 @Aspect
 @Component
 @Slf4j
 public class LoggingAspect {
 
+    private static final String EXCEPTION_HANDLER_PACKAGE =
+            "com.example.animeservice.exceptionhandler";
 
-    @Around("within(com.example.animeservice.controller..*) || "
+    private final MetricsService metricsService;
+    private final RequestLoggingMode mode;
+    private final double sampleRate;
+    private final int maxValueLength;
+    private final long slowThresholdNanos;
+
+    public LoggingAspect(
+            MetricsService metricsService,
+            @Value("${logs.requests.mode:SUMMARY}") RequestLoggingMode mode,
+            @Value("${logs.requests.sample-rate:1.0}") double sampleRate,
+            @Value("${logs.requests.max-value-length:256}") int maxValueLength,
+            @Value("${logs.requests.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.metricsService = metricsService;
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.maxValueLength = maxValueLength;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Around("(within(com.example.animeservice.controller..*) "
+            + "&& !within(com.example.animeservice.controller.MetricsController)) || "
             + "within(com.example.animeservice.exceptionhandler..*)")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] args = joinPoint.getArgs();
-        String packageName = joinPoint.getSignature().getDeclaringType().getPackage().getName();
+        Signature signature = joinPoint.getSignature();
+        if (signature.getDeclaringTypeName().startsWith(EXCEPTION_HANDLER_PACKAGE)) {
+            logHandledException(signature.toShortString(), joinPoint.getArgs());
+            return joinPoint.proceed();
+        }
 
-        if (packageName.contains("exceptionhandler")) {
-            String exceptionMessage = extractExceptionMessage(args);
-            if (methodName.contains("handleEntityNotFoundException")
-                    || methodName.contains("handleIllegalArgumentException")) {
-                log.warn("Handling exception in method: {} with message: {}",
-                        methodName, exceptionMessage);
-            } else if (methodName.contains("handleGenericException")) {
-                log.error("Handling exception in method: {} with message: {}",
-                        methodName, exceptionMessage);
-            }
-        } else {
-            log.info("Entering method: {} with arguments: {}", methodName, Arrays.toString(args));
+        boolean sampled = isSampled();
+        if (sampled) {
+            log.info("Entering method: {} with arguments: {}", signature.toShortString(),
+                    RequestLogValue.ofArguments(joinPoint.getArgs(), mode, maxValueLength));
         }
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-
-            if (!packageName.contains("exceptionhandler")) {
+            long elapsed = System.nanoTime() - startTime;
+            if (elapsed >= slowThresholdNanos && log.isWarnEnabled()) {
+                log.warn("Slow method: {} with result: {} (execution time: {}ms)",
+                        signature.toShortString(), summarize(result),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
+            } else if (sampled) {
                 log.info("Exiting method: {} with result: {} (execution time: {}ms)",
-                        methodName, result, executionTime);
+                        signature.toShortString(), summarize(result),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed));
             }
-
             return result;
-        } catch (Throwable throwable) {
-            throw throwable;
+        } finally {
+            metricsService.recordLatency(signature.getDeclaringType().getSimpleName(),
+                    signature.getName(), System.nanoTime() - startTime);
         }
     }
 
@@ -68,6 +97,29 @@ public class LoggingAspect {
         }
     }
 
+    private boolean isSampled() {
+        if (mode == RequestLoggingMode.OFF || !log.isInfoEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private RequestLogValue summarize(Object result) {
+        return RequestLogValue.of(result,
+                mode == RequestLoggingMode.OFF ? RequestLoggingMode.SUMMARY : mode, maxValueLength);
+    }
+
+    private void logHandledException(String methodName, Object[] args) {
+        if (methodName.contains("handleEntityNotFoundException")
+                || methodName.contains("handleIllegalArgumentException")) {
+            log.warn("Handling exception in method: {} with message: {}",
+                    methodName, extractExceptionMessage(args));
+        } else if (methodName.contains("handleGenericException")) {
+            log.error("Handling exception in method: {} with message: {}",
+                    methodName, extractExceptionMessage(args));
+        }
+    }
+
     private String extractExceptionMessage(Object[] args) {
         for (Object arg : args) {
             if (arg instanceof Throwable) {
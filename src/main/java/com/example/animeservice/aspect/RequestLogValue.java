@@ -0,0 +1,105 @@
+package com.example.animeservice.aspect;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.lang.reflect.Array;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Formats controller arguments and results for request logging only when the log event is
+ * actually rendered. Output is bounded: strings are cut at the length cap, and in
+ * {@link RequestLoggingMode#SUMMARY} mode collections, maps and arrays are reduced to their size
+ * and other objects to their type, so large DTO graphs are never walked.
+ */
+final class RequestLogValue {
+
+    private static final String ELLIPSIS = "...";
+
+    private final Object value;
+    private final boolean arguments;
+    private final RequestLoggingMode mode;
+    private final int maxLength;
+
+    private RequestLogValue(Object value, boolean arguments, RequestLoggingMode mode,
+                            int maxLength) {
+        this.value = value;
+        this.arguments = arguments;
+        this.mode = mode;
+        this.maxLength = maxLength;
+    }
+
+    static RequestLogValue ofArguments(Object[] args, RequestLoggingMode mode, int maxLength) {
+        return new RequestLogValue(args, true, mode, maxLength);
+    }
+
+    static RequestLogValue of(Object value, RequestLoggingMode mode, int maxLength) {
+        return new RequestLogValue(value, false, mode, maxLength);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        if (arguments) {
+            Object[] args = (Object[]) value;
+            out.append('[');
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                append(out, args[i]);
+            }
+            out.append(']');
+        } else {
+            append(out, value);
+        }
+        return out.toString();
+    }
+
+    private void append(StringBuilder out, Object item) {
+        if (item instanceof ResponseEntity<?> entity) {
+            out.append("ResponseEntity[status=").append(entity.getStatusCode().value())
+                    .append(", body=");
+            append(out, entity.getBody());
+            out.append(']');
+        } else if (item instanceof Optional<?> optional) {
+            out.append("Optional[");
+            append(out, optional.orElse(null));
+            out.append(']');
+        } else if (item instanceof ServletRequest || item instanceof ServletResponse) {
+            out.append(item.getClass().getSimpleName());
+        } else if (mode == RequestLoggingMode.FULL || isScalar(item)) {
+            appendCapped(out, String.valueOf(item));
+        } else if (item instanceof Collection<?> collection) {
+            out.append(item.getClass().getSimpleName())
+                    .append("[size=").append(collection.size()).append(']');
+        } else if (item instanceof Map<?, ?> map) {
+            out.append(item.getClass().getSimpleName())
+                    .append("[size=").append(map.size()).append(']');
+        } else if (item.getClass().isArray()) {
+            out.append(item.getClass().getComponentType().getSimpleName())
+                    .append('[').append(Array.getLength(item)).append(']');
+        } else {
+            out.append(item.getClass().getSimpleName());
+        }
+    }
+
+    private void appendCapped(StringBuilder out, String text) {
+        if (text.length() <= maxLength) {
+            out.append(text);
+        } else {
+            out.append(text, 0, maxLength).append(ELLIPSIS)
+                    .append("(length=").append(text.length()).append(')');
+        }
+    }
+
+    private static boolean isScalar(Object item) {
+        return item == null || item instanceof CharSequence || item instanceof Number
+                || item instanceof Boolean || item instanceof Character || item instanceof Enum<?>
+                || item instanceof Temporal || item instanceof UUID;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.animeservice.aspect;
+
+public enum RequestLoggingMode {
+    /** No entry/exit lines; slow requests are still reported. */
+    OFF,
+    /** Scalars and strings up to the length cap, sizes for collections, type names otherwise. */
+    SUMMARY,
+    /** {@code toString()} of every value, cut at the length cap. */
+    FULL
+}
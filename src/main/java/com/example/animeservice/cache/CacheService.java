@@ -3,6 +3,7 @@ package com.example.animeservice.cache;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -21,6 +22,9 @@ public class CacheService {
     private static final long TTL_SECONDS = 60;
 
     private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     public void put(String key, Object value) {
         if (cache.size() >= MAX_CACHE_SIZE) {
@@ -32,12 +36,17 @@ public class CacheService {
     public Object get(String key) {
         CacheEntry entry = cache.get(key);
         if (entry == null) {
+            misses.increment();
             return null;
         }
         if (isExpired(entry)) {
-            cache.remove(key);
+            if (cache.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
             return null;
         }
+        hits.increment();
         log.info("Cache hit for key: {}", key);
         return entry.getValue();
     }
@@ -50,9 +59,31 @@ public class CacheService {
         cache.keySet().removeIf(key -> key.startsWith(prefix));
     }
 
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
     @Scheduled(fixedRate = 60000)
     public void cleanExpiredEntries() {
-        cache.entrySet().removeIf(entry -> isExpired(entry.getValue()));
+        cache.entrySet().removeIf(entry -> {
+            if (isExpired(entry.getValue())) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
     }
 
     private boolean isExpired(CacheEntry entry) {
@@ -66,7 +97,11 @@ public class CacheService {
                 .sorted(Comparator.comparing(
                         entry -> entry.getValue().getTimestamp()))
                 .limit(ENTRIES_TO_REMOVE)
-                .forEach(entry -> cache.remove(entry.getKey()));
+                .forEach(entry -> {
+                    if (cache.remove(entry.getKey(), entry.getValue())) {
+                        evictions.increment();
+                    }
+                });
     }
 
     @Getter
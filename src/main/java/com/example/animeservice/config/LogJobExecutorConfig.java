@@ -0,0 +1,67 @@
+package com.example.animeservice.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class LogJobExecutorConfig {
+
+    public static final String LOG_JOB_EXECUTOR = "logJobExecutor";
+    public static final String LOG_SEGMENT_EXECUTOR = "logSegmentExecutor";
+    public static final String LOG_SEARCH_EXECUTOR = "logSearchExecutor";
+    public static final String LOG_STATUS_SCHEDULER = "logStatusScheduler";
+
+    @Bean(name = LOG_JOB_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor logJobExecutor(
+            @Value("${logs.jobs.pool-size:2}") int poolSize,
+            @Value("${logs.jobs.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("log-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean(name = LOG_SEGMENT_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor logSegmentExecutor(
+            @Value("${logs.segments.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 16);
+        executor.setThreadNamePrefix("log-segment-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean(name = LOG_SEARCH_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor logSearchExecutor(
+            @Value("${logs.search.parallelism:4}") int parallelism,
+            @Value("${logs.search.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("log-search-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean(name = LOG_STATUS_SCHEDULER, defaultCandidate = false)
+    public ThreadPoolTaskScheduler logStatusScheduler(
+            @Value("${logs.status.scheduler-pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("log-status-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -1,28 +1,52 @@
 package com.example.animeservice.config;
 
-import com.example.animeservice.service.VisitService;
+import com.example.animeservice.service.VisitEventDispatcher;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Component
 public class VisitFilter extends OncePerRequestFilter {
-    private final VisitService visitService;
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
 
-    public VisitFilter(VisitService visitService) {
-        this.visitService = visitService;
+    private final VisitEventDispatcher visitEventDispatcher;
+    private final String clientIdHeader;
+
+    public VisitFilter(VisitEventDispatcher visitEventDispatcher,
+                       @Value("${visits.client-id-header:X-Forwarded-For}") String clientIdHeader) {
+        this.visitEventDispatcher = visitEventDispatcher;
+        this.clientIdHeader = clientIdHeader;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String url = request.getRequestURI();
-        visitService.incrementVisit(url);
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            visitEventDispatcher.publish(resolveRoute(request), request.getRequestURI(),
+                    resolveClientId(request));
+        }
+    }
+
+    private String resolveRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+    }
+
+    private String resolveClientId(HttpServletRequest request) {
+        String header = request.getHeader(clientIdHeader);
+        if (header != null && !header.isBlank()) {
+            int comma = header.indexOf(',');
+            return (comma >= 0 ? header.substring(0, comma) : header).trim();
+        }
+        return request.getRemoteAddr();
     }
-}
\ No newline at end of file
+}
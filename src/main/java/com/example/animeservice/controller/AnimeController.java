@@ -1,6 +1,7 @@
 package com.example.animeservice.controller;
 
 import com.example.animeservice.dto.AnimeDto;
+import com.example.animeservice.dto.AnimeFacetsDto;
 import com.example.animeservice.dto.ErrorResponse;
 import com.example.animeservice.service.AnimeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -112,6 +113,26 @@ public class AnimeController {
         return ResponseEntity.ok(animeService.searchAnimes(title, genre, year));
     }
 
+    @Operation(summary = "Search anime facets", description =
+            "Returns per-genre and per-release-year counts for the given search filter.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Facet counts",
+                    content = @Content(schema = @Schema(implementation = AnimeFacetsDto.class))),
+                           @ApiResponse(responseCode = "400",
+                                   description = "Invalid search parameters",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search/facets")
+    public ResponseEntity<AnimeFacetsDto> getAnimeFacets(
+            @Parameter(description = "Anime title to search for (case-insensitive)")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "Anime genre to filter by")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Anime release year to filter by")
+            @RequestParam(required = false) Integer year
+    ) {
+        return ResponseEntity.ok(animeService.getAnimeFacets(title, genre, year));
+    }
+
     @Operation(summary = "Create multiple anime",
             description = "Creates multiple anime entities in a single request.")
     @ApiResponses(value = {@ApiResponse(responseCode = "201", description = "Anime list created",
@@ -124,4 +145,19 @@ public class AnimeController {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(animeService.createAnimes(dtos));
     }
+
+    @Operation(summary = "Delete multiple anime",
+            description = "Deletes multiple anime by their IDs in a single request.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Anime deleted"),
+                           @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                           @ApiResponse(responseCode = "404",
+                                   description = "One or more anime not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteAnimes(@RequestBody List<Long> ids) {
+        animeService.deleteAnimes(ids);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.example.animeservice.dto.CollectionDto;
 import com.example.animeservice.dto.CollectionWithAnimeDto;
 import com.example.animeservice.dto.ErrorResponse;
 import com.example.animeservice.service.CollectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,9 +13,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/collections")
@@ -32,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Collection", description = "API for managing collection entities")
 public class CollectionController {
     private final CollectionService collectionService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Get all collections",
             description = "Retrieves a list of all collections.")
@@ -98,6 +104,72 @@ public class CollectionController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Add anime to a collection",
+            description = "Adds a single anime to the collection without rewriting it.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Anime added"),
+                           @ApiResponse(responseCode = "404",
+                                   description = "Collection or anime not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/animes/{animeId}")
+    public ResponseEntity<Void> addAnimeToCollection(
+            @PathVariable Long id,
+            @PathVariable Long animeId
+    ) {
+        collectionService.addAnimesToCollection(id, List.of(animeId));
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Add multiple anime to a collection",
+            description = "Adds the given anime to the collection, skipping ones already in it.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Anime added"),
+                           @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                           @ApiResponse(responseCode = "404",
+                                   description = "Collection or anime not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/animes")
+    public ResponseEntity<Void> addAnimesToCollection(
+            @PathVariable Long id,
+            @RequestBody List<Long> animeIds
+    ) {
+        collectionService.addAnimesToCollection(id, animeIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Remove anime from a collection",
+            description = "Removes a single anime from the collection without rewriting it.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Anime removed"),
+                           @ApiResponse(responseCode = "404", description = "Collection not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/{id}/animes/{animeId}")
+    public ResponseEntity<Void> removeAnimeFromCollection(
+            @PathVariable Long id,
+            @PathVariable Long animeId
+    ) {
+        collectionService.removeAnimesFromCollection(id, List.of(animeId));
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Remove multiple anime from a collection",
+            description = "Removes the given anime from the collection.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "Anime removed"),
+                           @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                           @ApiResponse(responseCode = "404", description = "Collection not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/{id}/animes")
+    public ResponseEntity<Void> removeAnimesFromCollection(
+            @PathVariable Long id,
+            @RequestBody List<Long> animeIds
+    ) {
+        collectionService.removeAnimesFromCollection(id, animeIds);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Get collections by user ID",
             description = "Retrieves all collections for a specific user.")
     @ApiResponses(value = {@ApiResponse(responseCode = "200",
@@ -132,6 +204,23 @@ public class CollectionController {
         return ResponseEntity.ok(collectionService.searchCollections(name, animeId));
     }
 
+    @Operation(summary = "Search collections containing all anime",
+            description = "Returns collections that contain every one of the given anime IDs.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Collection search results",
+                    content = @Content(schema = @Schema(implementation = CollectionDto.class))),
+                           @ApiResponse(responseCode = "400",
+                                   description = "Invalid search parameters",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search/containing")
+    public ResponseEntity<List<CollectionDto>> searchCollectionsContainingAll(
+            @Parameter(description = "Anime IDs that every returned collection must contain")
+            @RequestParam List<Long> animeIds
+    ) {
+        return ResponseEntity.ok(collectionService.searchCollectionsContainingAll(animeIds));
+    }
+
     @Operation(summary = "Search collections by anime parameters",
             description = "Searches collections containing anime with "
                     + "specified title, genre, or release year.")
@@ -159,6 +248,41 @@ public class CollectionController {
         return ResponseEntity.ok(list);
     }
 
+    @Operation(summary = "Stream collections by anime parameters",
+            description = "Streams collections containing matching anime as "
+                    + "newline-delimited JSON, one collection per line.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Collection search results stream",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema =
+                    @Schema(implementation = CollectionWithAnimeDto.class))),
+                           @ApiResponse(responseCode = "400",
+                                   description = "Invalid search parameters",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(value = "/search/anime/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCollectionsWithAnime(
+            @Parameter(description = "Anime title to search for (case-insensitive)")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "Anime genre to filter by")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Anime release year to filter by")
+            @RequestParam(required = false) Integer releaseYear
+    ) {
+        collectionService.validateAnimeSearchParams(title, genre, releaseYear);
+        StreamingResponseBody body = out -> collectionService.streamCollectionsByAnimeParams(
+                title, genre, releaseYear, dto -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(dto));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Create multiple collections",
             description = "Creates multiple collection entities in a single request.")
     @ApiResponses(value = {@ApiResponse(responseCode = "201",
@@ -2,25 +2,33 @@ package com.example.animeservice.controller;
 
 import com.example.animeservice.dto.LogCreateResponse;
 import com.example.animeservice.dto.LogStatusResponse;
+import com.example.animeservice.logs.LogFileSender;
+import com.example.animeservice.logs.LogSearchQuery;
+import com.example.animeservice.logs.LogSearchResult;
+import com.example.animeservice.logs.LogSearcher;
 import com.example.animeservice.service.AsyncLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.File;
 import java.io.IOException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -29,61 +37,129 @@ import org.springframework.web.bind.annotation.RestController;
 public class LogController {
 
     private final AsyncLogService asyncLogService;
+    private final LogFileSender logFileSender;
+    private final LogSearcher logSearcher;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/create")
     @Operation(summary = "Create log file",
-            responses = {@ApiResponse(responseCode = "200", description = "Log creation started"),
-                         @ApiResponse(responseCode = "400", description = "Invalid date format")})
-    public CompletableFuture<ResponseEntity<LogCreateResponse>> createLogFile(
+            responses = {@ApiResponse(responseCode = "202", description = "Log creation started"),
+                         @ApiResponse(responseCode = "400", description = "Invalid date format"),
+                         @ApiResponse(responseCode = "503",
+                                 description = "Log job queue is full")})
+    public ResponseEntity<LogCreateResponse> createLogFile(
             @Parameter(description = "Date in yyyy-MM-dd format")
-            @RequestParam String date) throws InterruptedException {
+            @RequestParam String date) throws IOException {
         log.info("Creating log file for date: {}", date);
-        return asyncLogService.createLogFile(date)
-                .thenApply(LogCreateResponse::new)
-                .thenApply(ResponseEntity::ok);
+        return ResponseEntity.accepted()
+                .body(new LogCreateResponse(asyncLogService.submitLogJob(date)));
     }
 
     @GetMapping("/{logId}/status")
     @Operation(summary = "Get log status",
-            responses = {@ApiResponse(responseCode = "200", description = "Status retrieved"),
-                         @ApiResponse(responseCode = "404", description = "Log not found")})
-    public ResponseEntity<LogStatusResponse> getLogStatus(
+            description = "With a positive wait the request is held until the job finishes "
+                    + "or the wait elapses, whichever comes first.",
+            responses = {@ApiResponse(responseCode = "200", description = "Status retrieved")})
+    public CompletableFuture<ResponseEntity<LogStatusResponse>> getLogStatus(
             @PathVariable String logId,
-            @Parameter(description = "Date in yyyy-MM-dd format")
-            @RequestParam String date) throws InterruptedException {
-        log.info("Checking status for log ID: {} and date: {}", logId, date);
-        return ResponseEntity.ok(asyncLogService.getLogStatus(logId, date));
+            @Parameter(description = "Seconds to wait for the job to finish")
+            @RequestParam(defaultValue = "0") long wait) {
+        log.debug("Checking status for log ID: {}", logId);
+        return asyncLogService.awaitLogStatus(logId, wait).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/{logId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream log status",
+            description = "Sends a status event on connect, progress events while the job "
+                    + "runs and a final event when it finishes.",
+            responses = {@ApiResponse(responseCode = "200", description = "Stream opened"),
+                         @ApiResponse(responseCode = "404", description = "Log job not found")})
+    public SseEmitter streamLogStatus(@PathVariable String logId) {
+        log.info("Streaming status for log ID: {}", logId);
+        return asyncLogService.streamLogStatus(logId);
+    }
+
+    @DeleteMapping("/{logId}")
+    @Operation(summary = "Cancel log creation",
+            responses = {@ApiResponse(responseCode = "200", description = "Job cancelled"),
+                         @ApiResponse(responseCode = "404", description = "Log job not found")})
+    public ResponseEntity<LogStatusResponse> cancelLogJob(@PathVariable String logId) {
+        log.info("Cancelling log job: {}", logId);
+        return ResponseEntity.ok(asyncLogService.cancelLogJob(logId));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Search logs",
+            description = "Streams matching entries as newline-delimited JSON as they are "
+                    + "found, followed by a summary line. The scan is capped by result count, "
+                    + "scanned bytes and time.",
+            responses = {@ApiResponse(responseCode = "200", description = "Search started"),
+                         @ApiResponse(responseCode = "400",
+                                 description = "Invalid range, level or pattern")})
+    public ResponseEntity<StreamingResponseBody> searchLogs(
+            @Parameter(description = "Start, yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Exclusive end, yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Minimum level, e.g. WARN")
+            @RequestParam(required = false) String level,
+            @Parameter(description = "Logger name prefix, e.g. com.example.animeservice.service")
+            @RequestParam(required = false) String logger,
+            @Parameter(description = "Text to look for in the message")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Treat q as a regular expression")
+            @RequestParam(defaultValue = "false") boolean regex,
+            @Parameter(description = "Maximum number of entries")
+            @RequestParam(required = false) Integer limit) {
+        LogSearchQuery query = logSearcher.createQuery(from, to, level, logger, q, regex,
+                limit);
+        log.info("Searching logs from {} to {}", query.from(), query.to());
+        StreamingResponseBody body = out -> {
+            LogSearchResult result = logSearcher.search(query, entry -> {
+                out.write(objectMapper.writeValueAsBytes(entry));
+                out.write('\n');
+                out.flush();
+            });
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/download")
     @Operation(summary = "Download log file",
+            description = "Serves the latest completed extract for the date. Supports "
+                    + "Range/If-Range resumption, ETag and Last-Modified validators, and a "
+                    + "gzip-encoded variant for clients accepting gzip. Without a completed "
+                    + "extract, extraction is started and its job id is returned instead.",
             responses = {@ApiResponse(responseCode = "200", description = "File downloaded"),
-                         @ApiResponse(responseCode = "404", description = "File not found")})
-    public ResponseEntity<Resource> downloadLogFile(
+                         @ApiResponse(responseCode = "202",
+                                 description = "Log creation started, poll its status"),
+                         @ApiResponse(responseCode = "206", description = "Range downloaded"),
+                         @ApiResponse(responseCode = "304", description = "File not modified"),
+                         @ApiResponse(responseCode = "404", description = "File not found"),
+                         @ApiResponse(responseCode = "416",
+                                 description = "Range not satisfiable")})
+    public void downloadLogFile(
             @Parameter(description = "Date in yyyy-MM-dd format")
-            @RequestParam String date) throws InterruptedException, IOException {
+            @RequestParam String date,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         log.info("Downloading log file for date: {}", date);
         try {
-            File logFile = asyncLogService.getLogFile(date);
-            return buildFileResponse(logFile, date);
-        } catch (InterruptedException e) {
-            log.error("Error downloading log file for date: {}", date, e);
-            throw new InterruptedException();
+            Optional<File> logFile = asyncLogService.findLogFile(date);
+            if (logFile.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_ACCEPTED);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(objectMapper.writeValueAsBytes(
+                        new LogCreateResponse(asyncLogService.submitLogJob(date))));
+                return;
+            }
+            logFileSender.send(logFile.get(), asyncLogService.getGzipVariant(logFile.get()),
+                    "log_" + date + ".log", request, response);
         } catch (IOException e) {
             log.error("Error file is not for date: {}", date, e);
             throw new IOException();
         }
     }
-
-    private ResponseEntity<Resource> buildFileResponse(File file, String date) {
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        buildContentDispositionHeader(date))
-                .body(new FileSystemResource(file));
-    }
-
-    private String buildContentDispositionHeader(String date) {
-        return "attachment; filename=\"log_" + date + ".log\"";
-    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.animeservice.controller;
+
+import com.example.animeservice.service.MetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@Tag(name = "Metrics", description = "Operational metrics in Prometheus text format")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT =
+            MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final MetricsService metricsService;
+
+    @Operation(summary = "Scrape metrics",
+            description = "Returns visit counters per route, cache statistics, log job counts "
+                    + "and controller latency histograms in Prometheus exposition format.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Metrics exported")
+    })
+    @GetMapping
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metricsService.scrape());
+    }
+}
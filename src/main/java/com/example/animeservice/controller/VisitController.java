@@ -1,5 +1,9 @@
 package com.example.animeservice.controller;
 
+import com.example.animeservice.dto.HeavyHittersResponse;
+import com.example.animeservice.dto.UniqueVisitorsResponse;
+import com.example.animeservice.dto.VisitDto;
+import com.example.animeservice.dto.VisitRateDto;
 import com.example.animeservice.service.VisitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,6 +12,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,7 +42,8 @@ public class VisitController {
     }
 
     @Operation(summary = "Get visit count for a specific URL",
-            description = "Retrieves the visit count for the given URL.")
+            description = "Retrieves the visit count for the given route template "
+                    + "(e.g. /api/animes/{id}) or tracked concrete URL.")
     @ApiResponses(value = {@ApiResponse(responseCode = "200",
             description = "Visit count retrieved",
                     content = @Content(mediaType = "application/json",
@@ -43,9 +51,94 @@ public class VisitController {
     })
     @GetMapping("/result")
     public ResponseEntity<Long> getVisitCount(
-            @Parameter(description = "URL to get visit count for",
-                    example = "/some/path") @RequestParam String url
+            @Parameter(description = "Route template or URL to get visit count for",
+                    example = "/api/animes/{id}") @RequestParam String url
     ) {
         return ResponseEntity.ok(visitService.getVisitCount(url));
     }
+
+    @Operation(summary = "Get visit counts per route",
+            description = "Retrieves visit counts aggregated by matched route template.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Route visit counts retrieved",
+                    content = @Content(schema = @Schema(implementation = VisitDto.class)))
+    })
+    @GetMapping("/routes")
+    public ResponseEntity<List<VisitDto>> getRouteVisits() {
+        return ResponseEntity.ok(visitService.getRouteVisits());
+    }
+
+    @Operation(summary = "Get request rates per route",
+            description = "Retrieves requests per second over the last 1, 5 and 15 minutes, "
+                    + "for one route template or for all routes.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Request rates retrieved",
+                    content = @Content(schema = @Schema(implementation = VisitRateDto.class)))
+    })
+    @GetMapping("/rates")
+    public ResponseEntity<List<VisitRateDto>> getVisitRates(
+            @Parameter(description = "Route template, all routes when omitted",
+                    example = "/api/animes/{id}")
+            @RequestParam(required = false) String route
+    ) {
+        return ResponseEntity.ok(visitService.getVisitRates(route));
+    }
+
+    @Operation(summary = "Get most visited resources",
+            description = "Retrieves the most requested concrete URLs (e.g. individual anime "
+                    + "and collections) with estimated counts and error bounds.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Heavy hitters retrieved",
+                    content = @Content(schema =
+                    @Schema(implementation = HeavyHittersResponse.class)))
+    })
+    @GetMapping("/top")
+    public ResponseEntity<HeavyHittersResponse> getHeavyHitters(
+            @Parameter(description = "Maximum number of URLs to return")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Only return URLs starting with this prefix",
+                    example = "/api/animes/")
+            @RequestParam(required = false) String prefix
+    ) {
+        return ResponseEntity.ok(visitService.getHeavyHitters(limit, prefix));
+    }
+
+    @Operation(summary = "Get unique visitors for a route",
+            description = "Estimates distinct clients for the route template over a date range.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200",
+            description = "Unique visitor estimate retrieved",
+                    content = @Content(schema =
+                    @Schema(implementation = UniqueVisitorsResponse.class)))
+    })
+    @GetMapping("/unique")
+    public ResponseEntity<UniqueVisitorsResponse> getUniqueVisitors(
+            @Parameter(description = "Route template", example = "/api/animes/{id}")
+            @RequestParam String route,
+            @Parameter(description = "Start date in yyyy-MM-dd format, defaults to today")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date in yyyy-MM-dd format, defaults to today")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate today = LocalDate.now();
+        return ResponseEntity.ok(visitService.getUniqueVisitors(route,
+                from != null ? from : today, to != null ? to : today));
+    }
+
+    @Operation(summary = "Export unique visitor sketch",
+            description = "Returns the Base64-encoded HyperLogLog sketch for a route and day "
+                    + "so it can be merged with sketches from other instances.")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Sketch exported"),
+                           @ApiResponse(responseCode = "404", description = "No sketch found")
+    })
+    @GetMapping("/unique/sketch")
+    public ResponseEntity<String> exportVisitorSketch(
+            @Parameter(description = "Route template", example = "/api/animes/{id}")
+            @RequestParam String route,
+            @Parameter(description = "Date in yyyy-MM-dd format")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(visitService.exportVisitorSketch(route, date));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.animeservice.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimeFacetsDto {
+    private long total;
+    private Map<String, Long> genres;
+    private Map<Integer, Long> releaseYears;
+}
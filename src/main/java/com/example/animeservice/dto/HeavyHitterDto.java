@@ -0,0 +1,22 @@
+package com.example.animeservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Frequently requested URL with its estimated visit count")
+public class HeavyHitterDto {
+
+    @Schema(description = "Requested URL", example = "/api/animes/42")
+    private String url;
+
+    @Schema(description = "Estimated visit count, never lower than the true count")
+    private long visitCount;
+
+    @Schema(description = "Maximum overestimation of the visit count")
+    private long maxError;
+}
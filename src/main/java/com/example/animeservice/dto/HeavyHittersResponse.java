@@ -0,0 +1,22 @@
+package com.example.animeservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Most requested resources with error bounds")
+public class HeavyHittersResponse {
+
+    @Schema(description = "Total number of tracked resource visits")
+    private long totalVisits;
+
+    @Schema(description = "Upper bound on the visit count of any URL the tracker has dropped")
+    private long untrackedBound;
+
+    private List<HeavyHitterDto> hitters;
+}
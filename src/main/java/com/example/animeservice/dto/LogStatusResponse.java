@@ -18,7 +18,17 @@ public class LogStatusResponse {
     @Schema(
             description = "Current status of the log file",
             example = "IN_PROGRESS",
-            allowableValues = {"IN_PROGRESS", "COMPLETED", "FAILED"}
+            allowableValues = {"QUEUED", "IN_PROGRESS", "COMPLETED", "FAILED", "CANCELLED",
+                               "NOT_FOUND"}
     )
     private String status;
-}
\ No newline at end of file
+
+    @Schema(description = "Date the log file is extracted for", example = "2024-05-20")
+    private String date;
+
+    @Schema(description = "Share of source log bytes processed, in percent", example = "42")
+    private int progress;
+
+    @Schema(description = "Failure reason for FAILED jobs")
+    private String error;
+}
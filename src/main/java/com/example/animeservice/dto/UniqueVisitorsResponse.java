@@ -0,0 +1,27 @@
+package com.example.animeservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estimated number of distinct clients for a route over a date range")
+public class UniqueVisitorsResponse {
+
+    @Schema(description = "Route template", example = "/api/animes/{id}")
+    private String route;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    @Schema(description = "Estimated distinct client count")
+    private long uniqueVisitors;
+
+    @Schema(description = "Relative standard error of the estimate", example = "0.01625")
+    private double standardError;
+}
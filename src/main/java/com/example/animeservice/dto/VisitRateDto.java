@@ -0,0 +1,25 @@
+package com.example.animeservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Requests per second for a route over sliding windows")
+public class VisitRateDto {
+
+    @Schema(description = "Route template", example = "/api/animes/{id}")
+    private String route;
+
+    @Schema(description = "Average requests per second over the last minute")
+    private double oneMinuteRate;
+
+    @Schema(description = "Average requests per second over the last 5 minutes")
+    private double fiveMinuteRate;
+
+    @Schema(description = "Average requests per second over the last 15 minutes")
+    private double fifteenMinuteRate;
+}
@@ -5,7 +5,9 @@ import com.example.animeservice.exception.EntityNotFoundException;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -65,6 +67,20 @@ public class ExceptionHandlerController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ApiResponses(value = {@ApiResponse(responseCode = "503",
+            description = "Background job queue is full")
+    })
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        ErrorResponse response = new ErrorResponse();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setError("Service Unavailable");
+        response.setMessage("Too many background jobs, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     @ApiResponses(value = {@ApiResponse(responseCode = "500",
             description = "Unexpected server error")
@@ -0,0 +1,190 @@
+package com.example.animeservice.index;
+
+import com.example.animeservice.repository.CollectionRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CollectionMembershipIndex {
+
+    private final CollectionRepository collectionRepository;
+
+    private final Map<Long, Roaring64Bitmap> collectionsByAnime = new HashMap<>();
+    private final Map<Long, Roaring64Bitmap> animesByCollection = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            collectionsByAnime.clear();
+            animesByCollection.clear();
+            try (Stream<Object[]> rows = collectionRepository.streamAllMemberships()) {
+                rows.forEach(row -> link(((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue()));
+            }
+            ready = true;
+            log.info("Collection membership index built for {} collections and {} anime",
+                    animesByCollection.size(), collectionsByAnime.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void replaceCollection(Long collectionId, Collection<Long> animeIds) {
+        List<Long> ids = copyOf(animeIds);
+        afterCommit(() -> write(() -> {
+            unlinkCollection(collectionId);
+            ids.forEach(animeId -> link(collectionId, animeId));
+        }));
+    }
+
+    public void addMemberships(Long collectionId, Collection<Long> animeIds) {
+        List<Long> ids = copyOf(animeIds);
+        afterCommit(() -> write(() -> ids.forEach(animeId -> link(collectionId, animeId))));
+    }
+
+    public void removeMemberships(Long collectionId, Collection<Long> animeIds) {
+        List<Long> ids = copyOf(animeIds);
+        afterCommit(() -> write(() -> ids.forEach(animeId -> unlink(collectionId, animeId))));
+    }
+
+    public void removeCollections(Collection<Long> collectionIds) {
+        List<Long> ids = copyOf(collectionIds);
+        afterCommit(() -> write(() -> ids.forEach(this::unlinkCollection)));
+    }
+
+    public void removeAnimes(Collection<Long> animeIds) {
+        List<Long> ids = copyOf(animeIds);
+        afterCommit(() -> write(() -> ids.forEach(this::unlinkAnime)));
+    }
+
+    public boolean contains(Long collectionId, Long animeId) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap animes = animesByCollection.get(collectionId);
+            return animes != null && animes.contains(animeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findCollectionIdsContaining(Long animeId) {
+        return findCollectionIdsContainingAll(List.of(animeId));
+    }
+
+    public List<Long> findCollectionIdsContainingAll(Collection<Long> animeIds) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result = null;
+            for (Long animeId : animeIds) {
+                Roaring64Bitmap collections = collectionsByAnime.get(animeId);
+                if (collections == null) {
+                    return List.of();
+                }
+                if (result == null) {
+                    result = collections.clone();
+                } else {
+                    result.and(collections);
+                }
+            }
+            return result == null ? List.of() : toList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(long collectionId, long animeId) {
+        collectionsByAnime.computeIfAbsent(animeId, id -> new Roaring64Bitmap())
+                .addLong(collectionId);
+        animesByCollection.computeIfAbsent(collectionId, id -> new Roaring64Bitmap())
+                .addLong(animeId);
+    }
+
+    private void unlink(long collectionId, long animeId) {
+        removeFrom(collectionsByAnime, animeId, collectionId);
+        removeFrom(animesByCollection, collectionId, animeId);
+    }
+
+    private void unlinkCollection(long collectionId) {
+        Roaring64Bitmap animes = animesByCollection.remove(collectionId);
+        if (animes != null) {
+            animes.forEach(animeId -> removeFrom(collectionsByAnime, animeId, collectionId));
+        }
+    }
+
+    private void unlinkAnime(long animeId) {
+        Roaring64Bitmap collections = collectionsByAnime.remove(animeId);
+        if (collections != null) {
+            collections.forEach(collectionId ->
+                    removeFrom(animesByCollection, collectionId, animeId));
+        }
+    }
+
+    private void removeFrom(Map<Long, Roaring64Bitmap> map, long key, long value) {
+        Roaring64Bitmap bitmap = map.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(value);
+            if (bitmap.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Index changes become visible only once the owning transaction commits.
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<Long> copyOf(Collection<Long> ids) {
+        return ids == null ? List.of() : new ArrayList<>(ids);
+    }
+
+    private List<Long> toList(Roaring64Bitmap bitmap) {
+        List<Long> ids = new ArrayList<>((int) bitmap.getLongCardinality());
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
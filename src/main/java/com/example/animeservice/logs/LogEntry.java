@@ -0,0 +1,74 @@
+package com.example.animeservice.logs;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One log event. Text records are a timestamped header line plus continuation lines such as
+ * stack traces; JSON records written by {@link JsonLogEncoder} are a single line. Either way the
+ * stack trace ends up in {@code message}, separated by a newline.
+ */
+public record LogEntry(String timestamp, String level, String logger, String message) {
+
+    private static final String MESSAGE_SEPARATOR = " - ";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Parses the first line of a record, or returns {@code null} for a continuation line.
+     */
+    public static LogEntry parse(String line) {
+        if (LogTimestamps.timestamp(line) == null) {
+            return null;
+        }
+        return LogTimestamps.isJson(line) ? parseJson(line) : parseText(line);
+    }
+
+    public LogEntry withContinuation(CharSequence continuation) {
+        return new LogEntry(timestamp, level, logger, message + continuation);
+    }
+
+    private static LogEntry parseJson(String line) {
+        try {
+            JsonRecord record = JSON.readValue(line, JsonRecord.class);
+            String message = record.msg() != null ? record.msg() : "";
+            if (record.exception() != null) {
+                message = message + "\n" + record.exception().stripTrailing();
+            }
+            return new LogEntry(record.ts(), record.level(), record.logger(), message);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static LogEntry parseText(String line) {
+        String timestamp = line.substring(0, LogTimestamps.TIMESTAMP_LENGTH);
+        int levelStart = skipSpaces(line, LogTimestamps.TIMESTAMP_LENGTH);
+        int levelEnd = line.indexOf(' ', levelStart);
+        if (levelEnd < 0) {
+            return new LogEntry(timestamp, line.substring(levelStart), "", "");
+        }
+        int loggerStart = skipSpaces(line, levelEnd);
+        int loggerEnd = line.indexOf(MESSAGE_SEPARATOR, loggerStart);
+        if (loggerEnd < 0) {
+            return new LogEntry(timestamp, line.substring(levelStart, levelEnd), "",
+                    line.substring(loggerStart));
+        }
+        return new LogEntry(timestamp, line.substring(levelStart, levelEnd),
+                line.substring(loggerStart, loggerEnd),
+                line.substring(loggerEnd + MESSAGE_SEPARATOR.length()));
+    }
+
+    private static int skipSpaces(String line, int from) {
+        int index = from;
+        while (index < line.length() && line.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record JsonRecord(String ts, String level, String logger, String msg,
+                              String exception) {
+    }
+}
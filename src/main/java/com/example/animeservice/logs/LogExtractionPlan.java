@@ -0,0 +1,34 @@
+package com.example.animeservice.logs;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record LogExtractionPlan(LocalDate date, List<LogSegment> segments,
+                                List<LogRange> liveRanges) {
+
+    public long totalBytes() {
+        return segments.stream().mapToLong(LogSegment::size).sum()
+                + liveRanges.stream().mapToLong(LogRange::length).sum();
+    }
+
+    /**
+     * Identifies the source bytes of this plan; it changes when a segment is added or the live
+     * log gains lines for the date, which makes an earlier extract stale.
+     */
+    public String fingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (LogSegment segment : segments) {
+            fingerprint.append(segment.file().getFileName()).append(':')
+                    .append(segment.size()).append(';');
+        }
+        for (LogRange range : liveRanges) {
+            fingerprint.append("live:").append(range.start()).append('-').append(range.end())
+                    .append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty() && liveRanges.isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.animeservice.logs;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
+
+@Getter
+public class LogJob {
+
+    private final String id;
+    private final LocalDate date;
+    private final Instant createdAt;
+    private final AtomicReference<LogJobStatus> status;
+    private final AtomicLong processedBytes;
+    private volatile long totalBytes;
+    private volatile String error;
+    private volatile Future<?> future;
+    private volatile String sourceFingerprint;
+    private volatile Instant finishedAt;
+    private final CompletableFuture<LogJob> completion = new CompletableFuture<>();
+
+    public LogJob(String id, LocalDate date) {
+        this(id, date, Instant.now(), LogJobStatus.QUEUED, 0, 0, null, null, null);
+    }
+
+    public LogJob(String id, LocalDate date, Instant createdAt, LogJobStatus status,
+                  long processedBytes, long totalBytes, String error, String sourceFingerprint,
+                  Instant finishedAt) {
+        this.id = id;
+        this.date = date;
+        this.createdAt = createdAt;
+        this.status = new AtomicReference<>(status);
+        this.processedBytes = new AtomicLong(processedBytes);
+        this.totalBytes = totalBytes;
+        this.error = error;
+        this.sourceFingerprint = sourceFingerprint;
+        this.finishedAt = finishedAt;
+        if (status.isTerminal()) {
+            completion.complete(this);
+        }
+    }
+
+    public LogJobStatus getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Attaches the running task. A job cancelled before its task was attached cancels the task
+     * here, since {@link #cancel()} had nothing to interrupt yet.
+     */
+    public void setFuture(Future<?> future) {
+        this.future = future;
+        if (status.get() == LogJobStatus.CANCELLED) {
+            future.cancel(true);
+        }
+    }
+
+    public void setSourceFingerprint(String sourceFingerprint) {
+        this.sourceFingerprint = sourceFingerprint;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public boolean start() {
+        return status.compareAndSet(LogJobStatus.QUEUED, LogJobStatus.IN_PROGRESS);
+    }
+
+    public void addProcessedBytes(long bytes) {
+        processedBytes.addAndGet(bytes);
+    }
+
+    public boolean complete() {
+        return finish(LogJobStatus.IN_PROGRESS, LogJobStatus.COMPLETED);
+    }
+
+    public boolean fail(String error) {
+        this.error = error;
+        return finish(LogJobStatus.IN_PROGRESS, LogJobStatus.FAILED);
+    }
+
+    public boolean cancel() {
+        LogJobStatus current = status.get();
+        while (!current.isTerminal()) {
+            if (finish(current, LogJobStatus.CANCELLED)) {
+                Future<?> running = future;
+                if (running != null) {
+                    running.cancel(true);
+                }
+                return true;
+            }
+            current = status.get();
+        }
+        return false;
+    }
+
+    private boolean finish(LogJobStatus expected, LogJobStatus terminal) {
+        if (!status.compareAndSet(expected, terminal)) {
+            return false;
+        }
+        finishedAt = Instant.now();
+        completion.complete(this);
+        return true;
+    }
+
+    public int getProgress() {
+        LogJobStatus current = status.get();
+        if (current == LogJobStatus.COMPLETED) {
+            return 100;
+        }
+        long total = totalBytes;
+        if (total <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, processedBytes.get() * 100 / total);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.animeservice.logs;
+
+public enum LogJobStatus {
+    QUEUED,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
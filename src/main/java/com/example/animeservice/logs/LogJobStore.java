@@ -0,0 +1,192 @@
+package com.example.animeservice.logs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds log jobs with a size cap and a TTL for finished jobs, and persists them to a small
+ * JSON file so statuses and reusable extracts survive restarts. Jobs that were still queued or
+ * running when the application stopped are restored as failed.
+ */
+@Component
+@Slf4j
+public class LogJobStore {
+
+    static final String INTERRUPTED_ERROR = "Interrupted by application restart";
+
+    private final ObjectMapper objectMapper;
+    private final Path storeFile;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final ConcurrentHashMap<String, LogJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LocalDate, LogJob> latestByDate = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public LogJobStore(ObjectMapper objectMapper,
+                       @Value("${logs.jobs.store.file:logs/.log-jobs.json}") String storeFile,
+                       @Value("${logs.jobs.store.max-entries:1000}") int maxEntries,
+                       @Value("${logs.jobs.store.ttl-minutes:1440}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.storeFile = Path.of(storeFile);
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        try {
+            List<StoredJob> stored = objectMapper.readValue(storeFile.toFile(),
+                    new TypeReference<List<StoredJob>>() { });
+            stored.stream()
+                    .sorted(Comparator.comparing(StoredJob::createdAt))
+                    .map(StoredJob::toJob)
+                    .forEach(this::index);
+            evictExpired();
+        } catch (IOException e) {
+            log.warn("Failed to load log job store from {}", storeFile, e);
+        }
+    }
+
+    public void put(LogJob job) {
+        index(job);
+        dirty.set(true);
+        if (jobs.size() > maxEntries) {
+            evictOldestFinished(jobs.size() - maxEntries);
+        }
+    }
+
+    public void remove(LogJob job) {
+        jobs.remove(job.getId());
+        latestByDate.remove(job.getDate(), job);
+        dirty.set(true);
+    }
+
+    public void markChanged() {
+        dirty.set(true);
+    }
+
+    public LogJob get(String id) {
+        return jobs.get(id);
+    }
+
+    public LogJob findLatestByDate(LocalDate date) {
+        return latestByDate.get(date);
+    }
+
+    public LogJob findLatestCompletedByDate(LocalDate date) {
+        LogJob latest = latestByDate.get(date);
+        if (latest != null && latest.getStatus() == LogJobStatus.COMPLETED) {
+            return latest;
+        }
+        return jobs.values().stream()
+                .filter(job -> job.getDate().equals(date))
+                .filter(job -> job.getStatus() == LogJobStatus.COMPLETED)
+                .max(Comparator.comparing(LogJobStore::finishedAt))
+                .orElse(null);
+    }
+
+    public Collection<LogJob> findAll() {
+        return jobs.values();
+    }
+
+    @Scheduled(fixedDelayString = "${logs.jobs.store.flush-interval-ms:5000}")
+    public void flush() {
+        evictExpired();
+        if (dirty.getAndSet(false)) {
+            try {
+                write();
+            } catch (IOException e) {
+                dirty.set(true);
+                log.warn("Failed to persist log job store to {}", storeFile, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        dirty.set(true);
+        flush();
+    }
+
+    void evictExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        jobs.values().stream()
+                .filter(job -> job.getStatus().isTerminal())
+                .filter(job -> finishedAt(job).isBefore(cutoff))
+                .toList()
+                .forEach(this::remove);
+    }
+
+    private void evictOldestFinished(int count) {
+        jobs.values().stream()
+                .filter(job -> job.getStatus().isTerminal())
+                .sorted(Comparator.comparing(LogJobStore::finishedAt))
+                .limit(count)
+                .toList()
+                .forEach(this::remove);
+    }
+
+    private void index(LogJob job) {
+        jobs.put(job.getId(), job);
+        latestByDate.put(job.getDate(), job);
+    }
+
+    private void write() throws IOException {
+        List<StoredJob> snapshot = jobs.values().stream().map(StoredJob::from).toList();
+        Path directory = storeFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, ".log-jobs-", ".tmp");
+        try {
+            objectMapper.writeValue(temporary.toFile(), snapshot);
+            Files.move(temporary, storeFile, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static Instant finishedAt(LogJob job) {
+        return job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+    }
+
+    record StoredJob(String id, LocalDate date, Instant createdAt, LogJobStatus status,
+                     long processedBytes, long totalBytes, String error,
+                     String sourceFingerprint, Instant finishedAt) {
+
+        static StoredJob from(LogJob job) {
+            return new StoredJob(job.getId(), job.getDate(), job.getCreatedAt(), job.getStatus(),
+                    job.getProcessedBytes().get(), job.getTotalBytes(), job.getError(),
+                    job.getSourceFingerprint(), job.getFinishedAt());
+        }
+
+        LogJob toJob() {
+            if (status.isTerminal()) {
+                return new LogJob(id, date, createdAt, status, processedBytes, totalBytes,
+                        error, sourceFingerprint, finishedAt);
+            }
+            return new LogJob(id, date, createdAt, LogJobStatus.FAILED, processedBytes,
+                    totalBytes, INTERRUPTED_ERROR, sourceFingerprint, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.animeservice.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sparse index from log hour ({@code yyyy-MM-dd HH}) to the byte offset of its first line in
+ * {@code app.log}. The index is extended from the last indexed offset as the file grows and
+ * reset when the file is rolled over, so a day can be located without scanning the file.
+ *
+ * <p>Threads do not always write their records in timestamp order, so a record of an earlier
+ * hour can follow the first record of a later one. For every indexed hour the index also keeps
+ * the end offset of the last such straggler, and only the lines up to it are re-checked by
+ * their own timestamp when that hour is the edge of a requested range.
+ */
+@Component
+@Slf4j
+public class LogOffsetIndex {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter HOUR_KEY_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH");
+
+    private final Path logFile;
+    private final TreeMap<String, Long> hourOffsets = new TreeMap<>();
+    private final TreeMap<String, Long> stragglerEnds = new TreeMap<>();
+    private Object fileKey;
+    private long indexedBytes;
+    private long scannedBytes;
+    private String lastHourKey;
+    private String stragglerKey;
+
+    public LogOffsetIndex(@Value("${logs.path:logs}") String logPath) {
+        this.logFile = Path.of(logPath, "app.log");
+    }
+
+    @Scheduled(fixedDelayString = "${logs.index.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        try {
+            update();
+        } catch (IOException e) {
+            log.warn("Failed to update log offset index for {}", logFile, e);
+        }
+    }
+
+    public List<LogRange> findRange(LocalDate date) throws IOException {
+        return findRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Returns the byte ranges of {@code app.log} holding the records of the hours touched by
+     * {@code [from, to)}, in file order; the list is empty when there are none.
+     */
+    public synchronized List<LogRange> findRange(LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        update();
+        String startKey = hourKey(from.truncatedTo(ChronoUnit.HOURS));
+        LocalDateTime lastHour = to.truncatedTo(ChronoUnit.HOURS);
+        String endKey = hourKey(lastHour.equals(to) ? lastHour : lastHour.plusHours(1));
+        Map.Entry<String, Long> start = hourOffsets.ceilingEntry(startKey);
+        Map.Entry<String, Long> end = hourOffsets.ceilingEntry(endKey);
+        long endOffset = end != null ? end.getValue() : indexedBytes;
+        long startOffset = start != null ? start.getValue() : endOffset;
+        // Before the first line of an edge hour every record is earlier, and past its last
+        // straggler every record is later; only the lines in between need their own check.
+        long checkedUntil = start != null && startOffset < endOffset
+                ? Math.min(stragglerEnds.getOrDefault(start.getKey(), startOffset), endOffset)
+                : startOffset;
+        long checkedAfterEnd = end != null
+                ? stragglerEnds.getOrDefault(end.getKey(), endOffset) : endOffset;
+        List<LogRange> ranges = new ArrayList<>();
+        if (checkedUntil == startOffset && checkedAfterEnd == endOffset) {
+            addRange(ranges, startOffset, endOffset);
+            return ranges;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            addMatchingLines(channel, startOffset, checkedUntil, startKey, endKey, ranges);
+            addRange(ranges, checkedUntil, endOffset);
+            addMatchingLines(channel, endOffset, checkedAfterEnd, startKey, endKey, ranges);
+        }
+        return ranges;
+    }
+
+    synchronized long getIndexedBytes() {
+        return indexedBytes;
+    }
+
+    synchronized long getScannedBytes() {
+        return scannedBytes;
+    }
+
+    private void update() throws IOException {
+        if (!Files.exists(logFile)) {
+            reset(null);
+            return;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+        // Creation time is not stable on every file system, so rollover is detected by the
+        // file identity (the inode on POSIX) and, where there is none, by the file shrinking.
+        if (attributes.size() < indexedBytes
+                || !Objects.equals(attributes.fileKey(), fileKey)) {
+            reset(attributes.fileKey());
+        }
+        if (attributes.size() == indexedBytes) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long from = indexedBytes;
+            indexedBytes = scanLines(channel, from, attributes.size(), this::indexLine);
+            scannedBytes += attributes.size() - from;
+        }
+    }
+
+    private void indexLine(String key, long lineStart, long lineEnd) {
+        if (key == null) {
+            if (stragglerKey != null) {
+                markStraggler(stragglerKey, lineEnd);
+            }
+            return;
+        }
+        int order = lastHourKey == null ? 1 : key.compareTo(lastHourKey);
+        if (order > 0) {
+            hourOffsets.put(key, lineStart);
+            lastHourKey = key;
+        }
+        stragglerKey = order < 0 ? key : null;
+        if (stragglerKey != null) {
+            markStraggler(key, lineEnd);
+        }
+    }
+
+    private void markStraggler(String key, long lineEnd) {
+        for (String hour : hourOffsets.subMap(key, false, lastHourKey, true).keySet()) {
+            stragglerEnds.put(hour, lineEnd);
+        }
+    }
+
+    private void addMatchingLines(FileChannel channel, long from, long to, String startKey,
+                                  String endKey, List<LogRange> ranges) throws IOException {
+        boolean[] inRange = {false};
+        scanLines(channel, from, to, (key, lineStart, lineEnd) -> {
+            if (key != null) {
+                inRange[0] = key.compareTo(startKey) >= 0 && key.compareTo(endKey) < 0;
+            }
+            if (inRange[0]) {
+                addRange(ranges, lineStart, lineEnd);
+            }
+        });
+    }
+
+    private void addRange(List<LogRange> ranges, long start, long end) {
+        if (start >= end) {
+            return;
+        }
+        if (!ranges.isEmpty() && ranges.get(ranges.size() - 1).end() == start) {
+            start = ranges.remove(ranges.size() - 1).start();
+        }
+        ranges.add(new LogRange(logFile, start, end, fileKey));
+    }
+
+    /**
+     * Passes every complete line of {@code [from, to)} to {@code visitor} with its hour key, or
+     * {@code null} for a continuation line, and returns the offset after the last one.
+     */
+    private static long scanLines(FileChannel channel, long from, long to, LineVisitor visitor)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        long readPosition = from;
+        long lineStart = from;
+        while (readPosition < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(READ_BUFFER_SIZE, to - readPosition));
+            int read = channel.read(buffer, readPosition);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    long lineEnd = readPosition + i;
+                    String key = lineEnd - lineStart >= LogTimestamps.HOUR_KEY_LENGTH
+                            ? readHourKey(channel, bytes, readPosition, lineStart,
+                                    (int) Math.min(lineEnd - lineStart, Integer.MAX_VALUE))
+                            : null;
+                    visitor.visit(key, lineStart, lineEnd + 1);
+                    lineStart = lineEnd + 1;
+                }
+            }
+            readPosition += read;
+        }
+        return lineStart;
+    }
+
+    private static String readHourKey(FileChannel channel, byte[] buffer, long bufferStart,
+                                      long lineStart, int lineLength) throws IOException {
+        byte[] head;
+        int offset;
+        if (lineStart >= bufferStart) {
+            head = buffer;
+            offset = (int) (lineStart - bufferStart);
+        } else {
+            head = new byte[Math.min(lineLength, LogTimestamps.MAX_HEAD_LENGTH)];
+            offset = 0;
+            channel.read(ByteBuffer.wrap(head), lineStart);
+        }
+        int keyIndex = LogTimestamps.hourKeyIndex(ByteBuffer.wrap(head), offset, lineLength);
+        if (keyIndex < 0) {
+            return null;
+        }
+        return new String(head, keyIndex, LogTimestamps.HOUR_KEY_LENGTH,
+                StandardCharsets.US_ASCII);
+    }
+
+    private void reset(Object key) {
+        hourOffsets.clear();
+        stragglerEnds.clear();
+        indexedBytes = 0;
+        lastHourKey = null;
+        stragglerKey = null;
+        fileKey = key;
+    }
+
+    private static String hourKey(LocalDateTime hour) {
+        return HOUR_KEY_FORMATTER.format(hour);
+    }
+
+    @FunctionalInterface
+    private interface LineVisitor {
+
+        void visit(String hourKey, long lineStart, long lineEnd) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.animeservice.logs;
+
+import java.nio.file.Path;
+
+/**
+ * Byte range of a log file. {@code fileKey} identifies the file the range was taken from (the
+ * inode on POSIX) when it may be replaced under the same path, and is {@code null} otherwise.
+ */
+public record LogRange(Path file, long start, long end, Object fileKey) {
+
+    public LogRange(Path file, long start, long end) {
+        this(file, start, end, null);
+    }
+
+    public long length() {
+        return end - start;
+    }
+}
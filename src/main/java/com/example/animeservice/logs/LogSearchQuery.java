@@ -0,0 +1,41 @@
+package com.example.animeservice.logs;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+import org.slf4j.event.Level;
+
+public record LogSearchQuery(LocalDateTime from, LocalDateTime to, Level minLevel,
+                             String loggerPrefix, Pattern pattern, int limit) {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public String fromTimestamp() {
+        return TIMESTAMP_FORMATTER.format(from);
+    }
+
+    public String toTimestamp() {
+        return TIMESTAMP_FORMATTER.format(to);
+    }
+
+    public boolean matchesFields(LogEntry entry) {
+        return (minLevel == null || levelRank(entry.level()) >= minLevel.toInt())
+                && (loggerPrefix == null
+                        || entry.logger() != null && entry.logger().startsWith(loggerPrefix));
+    }
+
+    public boolean matchesText(CharSequence text) {
+        return pattern == null || pattern.matcher(text).find();
+    }
+
+    private static int levelRank(String level) {
+        return switch (level == null ? "" : level) {
+            case "ERROR" -> Level.ERROR.toInt();
+            case "WARN" -> Level.WARN.toInt();
+            case "INFO" -> Level.INFO.toInt();
+            case "DEBUG" -> Level.DEBUG.toInt();
+            default -> Level.TRACE.toInt();
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.animeservice.logs;
+
+public record LogSearchResult(int matches, long scannedBytes, String truncatedBy) {
+}
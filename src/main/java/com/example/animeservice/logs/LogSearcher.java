@@ -0,0 +1,393 @@
+package com.example.animeservice.logs;
+
+import com.example.animeservice.config.LogJobExecutorConfig;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the rolled segments and the live {@code app.log} for entries in a time range, in
+ * either the text or the JSON record format. Only records inside the range are parsed. Files
+ * are scanned on the bounded search executor, never on the request thread, while results are
+ * handed to the caller in file order as soon as they are found. A search that finds the
+ * executor saturated is rejected, or truncated if it has already returned entries. The live
+ * file is entered at the hour offset from {@link LogOffsetIndex}, and every file is left at the
+ * first entry past the range. A search stops early when it reaches the result limit, the scan
+ * byte budget or its deadline.
+ */
+@Component
+@Slf4j
+public class LogSearcher {
+
+    public static final String TRUNCATED_BY_LIMIT = "limit";
+    public static final String TRUNCATED_BY_BYTES = "bytes";
+    public static final String TRUNCATED_BY_TIME = "time";
+    public static final String TRUNCATED_BY_BUSY = "busy";
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int CHECK_INTERVAL_LINES = 1024;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final LogSegmentExtractor logSegmentExtractor;
+    private final LogOffsetIndex logOffsetIndex;
+    private final ThreadPoolTaskExecutor logSearchExecutor;
+    private final int maxResults;
+    private final long maxScanBytes;
+    private final Duration timeout;
+    private final int maxDays;
+
+    public LogSearcher(
+            LogSegmentExtractor logSegmentExtractor,
+            LogOffsetIndex logOffsetIndex,
+            @Qualifier(LogJobExecutorConfig.LOG_SEARCH_EXECUTOR)
+            ThreadPoolTaskExecutor logSearchExecutor,
+            @Value("${logs.search.max-results:1000}") int maxResults,
+            @Value("${logs.search.max-scan-bytes:1073741824}") long maxScanBytes,
+            @Value("${logs.search.timeout-ms:10000}") long timeoutMs,
+            @Value("${logs.search.max-days:31}") int maxDays) {
+        this.logSegmentExtractor = logSegmentExtractor;
+        this.logOffsetIndex = logOffsetIndex;
+        this.logSearchExecutor = logSearchExecutor;
+        this.maxResults = maxResults;
+        this.maxScanBytes = maxScanBytes;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxDays = maxDays;
+    }
+
+    public LogSearchQuery createQuery(String from, String to, String level, String logger,
+                                      String text, boolean regex, Integer limit) {
+        LocalDateTime end = to != null ? parseDateTime(to) : LocalDateTime.now();
+        LocalDateTime start = from != null
+                ? parseDateTime(from) : end.toLocalDate().atStartOfDay();
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Search range start must be before its end");
+        }
+        if (start.plusDays(maxDays).isBefore(end)) {
+            throw new IllegalArgumentException("Search range must not exceed " + maxDays
+                    + " days");
+        }
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive");
+        }
+        return new LogSearchQuery(start, end, parseLevel(level),
+                logger == null || logger.isBlank() ? null : logger.trim(), compile(text, regex),
+                limit != null ? Math.min(limit, maxResults) : maxResults);
+    }
+
+    public LogSearchResult search(LogSearchQuery query, EntrySink sink) throws IOException {
+        SearchState state = new SearchState(System.nanoTime() + timeout.toNanos());
+        List<SearchSource> sources = findSources(query);
+        List<SourceScan> scans = new ArrayList<>();
+        int window = Math.max(1, logSearchExecutor.getMaxPoolSize());
+        int matches = 0;
+        try {
+            drain:
+            for (int i = 0; i < sources.size(); i++) {
+                // Scans run ahead of the caller by at most the pool size, so one wide search
+                // cannot fill the executor queue on its own.
+                while (scans.size() < Math.min(i + window, sources.size())) {
+                    try {
+                        scans.add(submit(sources.get(scans.size()), query, state));
+                    } catch (RejectedExecutionException e) {
+                        if (scans.size() == i) {
+                            if (matches == 0) {
+                                throw e;
+                            }
+                            state.truncate(TRUNCATED_BY_BUSY);
+                            break drain;
+                        }
+                        break;
+                    }
+                }
+                SourceScan scan = scans.get(i);
+                while (true) {
+                    if (matches >= query.limit()) {
+                        state.truncate(TRUNCATED_BY_LIMIT);
+                        break drain;
+                    }
+                    LogEntry entry = nextEntry(scan, state);
+                    if (entry == null) {
+                        if (state.expired()) {
+                            break drain;
+                        }
+                        break;
+                    }
+                    sink.accept(entry);
+                    matches++;
+                }
+            }
+        } finally {
+            state.stopped = true;
+            scans.forEach(scan -> scan.future.cancel(true));
+        }
+        return new LogSearchResult(matches, state.scannedBytes.get(), state.truncatedBy.get());
+    }
+
+    private SourceScan submit(SearchSource source, LogSearchQuery query, SearchState state) {
+        SourceScan scan = new SourceScan(source, new LinkedBlockingQueue<>());
+        scan.future = logSearchExecutor.submit(() -> scanSource(scan, query, state));
+        return scan;
+    }
+
+    private List<SearchSource> findSources(LogSearchQuery query) throws IOException {
+        List<SearchSource> sources = new ArrayList<>();
+        LocalDate lastDay = query.to().minusNanos(1).toLocalDate();
+        for (LocalDate day = query.from().toLocalDate(); !day.isAfter(lastDay);
+             day = day.plusDays(1)) {
+            for (LogSegment segment : logSegmentExtractor.findSegments(day)) {
+                sources.add(new SearchSource(segment.file(), segment.compressed(), 0));
+            }
+        }
+        // The scan filters by timestamp itself, so it reads on from the first live range.
+        List<LogRange> live = logOffsetIndex.findRange(query.from(), query.to());
+        if (!live.isEmpty()) {
+            sources.add(new SearchSource(live.get(0).file(), false, live.get(0).start()));
+        }
+        return sources;
+    }
+
+    private LogEntry nextEntry(SourceScan scan, SearchState state) throws IOException {
+        try {
+            while (true) {
+                if (state.expired()) {
+                    return null;
+                }
+                boolean done = scan.future.isDone();
+                LogEntry entry = scan.results.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    return entry;
+                }
+                if (done) {
+                    reportFailure(scan);
+                    return null;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Log search interrupted");
+        }
+    }
+
+    private void reportFailure(SourceScan scan) {
+        try {
+            scan.future.get();
+        } catch (ExecutionException e) {
+            log.warn("Failed to search log file {}", scan.source.file(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Void scanSource(SourceScan scan, LogSearchQuery query, SearchState state)
+            throws IOException {
+        String from = query.fromTimestamp();
+        String to = query.toTimestamp();
+        try (BufferedReader reader = open(scan.source)) {
+            EntryBuilder current = null;
+            int found = 0;
+            long lines = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (++lines % CHECK_INTERVAL_LINES == 0 && state.shouldStop()) {
+                    break;
+                }
+                if (state.scannedBytes.addAndGet(utf8Length(line) + 1L) > maxScanBytes) {
+                    state.truncate(TRUNCATED_BY_BYTES);
+                    break;
+                }
+                String timestamp = LogTimestamps.timestamp(line);
+                if (timestamp == null) {
+                    if (current != null) {
+                        current.addContinuation(line, query);
+                    }
+                    continue;
+                }
+                found += emit(current, scan.results);
+                current = null;
+                if (found >= query.limit() || timestamp.compareTo(to) >= 0) {
+                    break;
+                }
+                if (timestamp.compareTo(from) >= 0) {
+                    LogEntry header = LogEntry.parse(line);
+                    if (header != null && query.matchesFields(header)) {
+                        current = new EntryBuilder(header, query);
+                    }
+                }
+            }
+            if (found < query.limit()) {
+                emit(current, scan.results);
+            }
+        }
+        return null;
+    }
+
+    private static long utf8Length(String line) {
+        long length = line.length();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                length += 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private static int emit(EntryBuilder entry, BlockingQueue<LogEntry> results) {
+        if (entry == null || !entry.matched) {
+            return 0;
+        }
+        results.add(entry.build());
+        return 1;
+    }
+
+    private static BufferedReader open(SearchSource source) throws IOException {
+        InputStream in;
+        if (source.compressed()) {
+            in = new GZIPInputStream(Files.newInputStream(source.file()), READ_BUFFER_SIZE);
+        } else {
+            FileChannel channel = FileChannel.open(source.file(), StandardOpenOption.READ);
+            in = Channels.newInputStream(channel.position(source.start()));
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                READ_BUFFER_SIZE);
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return value.length() == 10
+                    ? LocalDate.parse(value).atStartOfDay()
+                    : LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date-time, expected yyyy-MM-dd or "
+                    + "yyyy-MM-ddTHH:mm:ss: " + value);
+        }
+    }
+
+    private static Level parseLevel(String level) {
+        if (level == null || level.isBlank()) {
+            return null;
+        }
+        try {
+            return Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown log level: " + level);
+        }
+    }
+
+    private static Pattern compile(String text, boolean regex) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Pattern.compile(text, regex ? 0 : Pattern.LITERAL);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid search pattern: " + e.getDescription());
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntrySink {
+        void accept(LogEntry entry) throws IOException;
+    }
+
+    private record SearchSource(Path file, boolean compressed, long start) {
+    }
+
+    private static final class SourceScan {
+
+        private final SearchSource source;
+        private final BlockingQueue<LogEntry> results;
+        private Future<Void> future;
+
+        private SourceScan(SearchSource source, BlockingQueue<LogEntry> results) {
+            this.source = source;
+            this.results = results;
+        }
+    }
+
+    private static final class SearchState {
+
+        private final long deadline;
+        private final AtomicLong scannedBytes = new AtomicLong();
+        private final AtomicReference<String> truncatedBy = new AtomicReference<>();
+        private volatile boolean stopped;
+
+        private SearchState(long deadline) {
+            this.deadline = deadline;
+        }
+
+        private void truncate(String reason) {
+            truncatedBy.compareAndSet(null, reason);
+        }
+
+        private boolean expired() {
+            if (System.nanoTime() <= deadline) {
+                return false;
+            }
+            truncate(TRUNCATED_BY_TIME);
+            return true;
+        }
+
+        private boolean shouldStop() {
+            return stopped || TRUNCATED_BY_BYTES.equals(truncatedBy.get())
+                    || Thread.currentThread().isInterrupted() || expired();
+        }
+    }
+
+    private static final class EntryBuilder {
+
+        private final LogEntry header;
+        private final StringBuilder continuation = new StringBuilder();
+        private boolean matched;
+
+        private EntryBuilder(LogEntry header, LogSearchQuery query) {
+            this.header = header;
+            this.matched = query.matchesText(header.message());
+        }
+
+        private void addContinuation(String line, LogSearchQuery query) {
+            continuation.append('\n').append(line);
+            if (!matched) {
+                matched = query.matchesText(line);
+            }
+        }
+
+        private LogEntry build() {
+            return continuation.isEmpty() ? header : header.withContinuation(continuation);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.animeservice.logs;
+
+import java.nio.file.Path;
+
+public record LogSegment(Path file, int index, boolean compressed, long size) {
+}
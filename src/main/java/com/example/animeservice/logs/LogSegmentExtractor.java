@@ -0,0 +1,251 @@
+package com.example.animeservice.logs;
+
+import com.example.animeservice.config.LogJobExecutorConfig;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Extracts one day of logs from the rolled {@code app-<date>.<i>.log[.gz]} segments and the
+ * live {@code app.log}. Segments are scanned in parallel, plain ones through memory-mapped byte
+ * ranges and gzipped ones into temporary files, and then concatenated in segment order, which
+ * is timestamp order because segments never overlap. The live file is opened and checked
+ * against the plan before anything is copied, so a rollover after planning fails the extract
+ * instead of silently copying the wrong bytes.
+ */
+@Component
+@Slf4j
+public class LogSegmentExtractor {
+
+    public static final String TEMP_PART_PREFIX = ".segment-";
+
+    private static final Pattern SEGMENT_NAME =
+            Pattern.compile("app-(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)\\.log(\\.gz)?");
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final Path logDir;
+    private final LogOffsetIndex logOffsetIndex;
+    private final MappedLogScanner mappedLogScanner;
+    private final ThreadPoolTaskExecutor logSegmentExecutor;
+
+    public LogSegmentExtractor(
+            @Value("${logs.path:logs}") String logPath,
+            LogOffsetIndex logOffsetIndex,
+            MappedLogScanner mappedLogScanner,
+            @Qualifier(LogJobExecutorConfig.LOG_SEGMENT_EXECUTOR)
+            ThreadPoolTaskExecutor logSegmentExecutor) {
+        this.logDir = Path.of(logPath);
+        this.logOffsetIndex = logOffsetIndex;
+        this.mappedLogScanner = mappedLogScanner;
+        this.logSegmentExecutor = logSegmentExecutor;
+    }
+
+    public LogExtractionPlan plan(LocalDate date) throws IOException {
+        // The live range is taken first: a rollover in between then shows up as a segment of the
+        // plan and as a changed live file at extract time, never as a missing segment.
+        List<LogRange> liveRanges = logOffsetIndex.findRange(date);
+        return new LogExtractionPlan(date, findSegments(date), liveRanges);
+    }
+
+    public List<LogSegment> findSegments(LocalDate date) throws IOException {
+        List<LogSegment> segments = new ArrayList<>();
+        if (!Files.isDirectory(logDir)) {
+            return segments;
+        }
+        String day = date.toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(logDir, "app-" + day + ".*")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && matcher.group(1).equals(day)) {
+                    segments.add(new LogSegment(file, Integer.parseInt(matcher.group(2)),
+                            matcher.group(3) != null, Files.size(file)));
+                }
+            }
+        }
+        segments.sort(Comparator.comparingInt(LogSegment::index));
+        return segments;
+    }
+
+    public void extract(LogExtractionPlan plan, FileChannel out, LongConsumer progress)
+            throws IOException {
+        List<Future<SegmentPart>> parts = new ArrayList<>();
+        FileChannel live = openLiveLog(plan);
+        try {
+            for (LogSegment segment : plan.segments()) {
+                parts.add(logSegmentExecutor.submit(() -> scanSegment(segment, plan.date())));
+            }
+            for (int i = 0; i < parts.size(); i++) {
+                for (LogRange range : awaitPart(parts.get(i)).ranges()) {
+                    copy(range, out, bytes -> { });
+                }
+                progress.accept(plan.segments().get(i).size());
+            }
+            if (live != null) {
+                for (LogRange range : plan.liveRanges()) {
+                    transfer(live, range.start(), range.end(), out, progress);
+                }
+            }
+        } finally {
+            parts.forEach(part -> part.cancel(true));
+            parts.forEach(this::deletePart);
+            if (live != null) {
+                live.close();
+            }
+        }
+    }
+
+    private static FileChannel openLiveLog(LogExtractionPlan plan) throws IOException {
+        if (plan.liveRanges().isEmpty()) {
+            return null;
+        }
+        LogRange range = plan.liveRanges().get(plan.liveRanges().size() - 1);
+        FileChannel channel = FileChannel.open(range.file(), StandardOpenOption.READ);
+        try {
+            Object fileKey = Files.readAttributes(range.file(), BasicFileAttributes.class)
+                    .fileKey();
+            if (!Objects.equals(fileKey, range.fileKey()) || channel.size() < range.end()) {
+                throw new IOException("Live log " + range.file()
+                        + " was rolled over after the extraction was planned");
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private SegmentPart awaitPart(Future<SegmentPart> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Log extraction cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Failed to scan log segment", cause);
+        }
+    }
+
+    private SegmentPart scanSegment(LogSegment segment, LocalDate date) {
+        Path part = null;
+        try {
+            if (!segment.compressed()) {
+                return new SegmentPart(mappedLogScanner.findDayRanges(segment.file(), date), null);
+            }
+            part = Files.createTempFile(logDir, TEMP_PART_PREFIX, ".tmp");
+            writeDayLines(segment, date.toString(), part);
+            return new SegmentPart(List.of(new LogRange(part, 0, Files.size(part))), part);
+        } catch (IOException e) {
+            deleteQuietly(part);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeDayLines(LogSegment segment, String day, Path part) throws IOException {
+        try (InputStream raw = Files.newInputStream(segment.file());
+             InputStream in = segment.compressed() ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(in, StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     Files.newOutputStream(part), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            boolean inDay = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Log extraction cancelled");
+                }
+                int hourKey = LogTimestamps.hourKeyIndex(line);
+                if (hourKey >= 0) {
+                    inDay = line.startsWith(day, hourKey);
+                }
+                if (inDay) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private void deletePart(Future<SegmentPart> part) {
+        if (!part.isDone() || part.isCancelled()) {
+            return;
+        }
+        try {
+            deleteQuietly(part.get().temporaryFile());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Skipping cleanup of failed log segment part", e);
+        }
+    }
+
+    private void deleteQuietly(Path part) {
+        if (part == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(part);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary log segment part {}", part, e);
+        }
+    }
+
+    private static void copy(LogRange range, FileChannel out, LongConsumer progress)
+            throws IOException {
+        try (FileChannel in = FileChannel.open(range.file(), StandardOpenOption.READ)) {
+            transfer(in, range.start(), range.end(), out, progress);
+        }
+    }
+
+    private static void transfer(FileChannel in, long start, long end, FileChannel out,
+                                 LongConsumer progress) throws IOException {
+        long position = start;
+        while (position < end) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Log extraction cancelled");
+            }
+            long transferred = in.transferTo(position,
+                    Math.min(TRANSFER_CHUNK_SIZE, end - position), out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            progress.accept(transferred);
+        }
+    }
+
+    private record SegmentPart(List<LogRange> ranges, Path temporaryFile) {
+    }
+}
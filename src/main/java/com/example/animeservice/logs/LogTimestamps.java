@@ -0,0 +1,95 @@
+package com.example.animeservice.logs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Locates the {@code yyyy-MM-dd HH:mm:ss} timestamp that starts every log record, either at the
+ * beginning of a text line or right after the leading {@code {"ts":"} of a JSON line. The hour
+ * key ({@code yyyy-MM-dd HH}) is recognised on raw bytes, without decoding.
+ */
+final class LogTimestamps {
+
+    static final int HOUR_KEY_LENGTH = 13;
+    static final int TIMESTAMP_LENGTH = 19;
+    static final String JSON_PREFIX = "{\"ts\":\"";
+    static final int MAX_HEAD_LENGTH = JSON_PREFIX.length() + HOUR_KEY_LENGTH;
+
+    private static final byte[] JSON_PREFIX_BYTES =
+            JSON_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private LogTimestamps() {
+    }
+
+    /**
+     * Returns the index of the hour key of the line starting at {@code index}, or -1 when the
+     * line does not start a record.
+     */
+    static int hourKeyIndex(ByteBuffer buffer, int index, int lineLength) {
+        int start = index;
+        int remaining = lineLength;
+        if (remaining >= JSON_PREFIX_BYTES.length
+                && startsWith(buffer, index, JSON_PREFIX_BYTES)) {
+            start += JSON_PREFIX_BYTES.length;
+            remaining -= JSON_PREFIX_BYTES.length;
+        }
+        if (remaining < HOUR_KEY_LENGTH) {
+            return -1;
+        }
+        for (int i = 0; i < HOUR_KEY_LENGTH; i++) {
+            if (!isValid(i, buffer.get(start + i))) {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    static int hourKeyIndex(CharSequence line) {
+        return keyIndex(line, HOUR_KEY_LENGTH);
+    }
+
+    /**
+     * Returns the second-precision timestamp that starts the record, or {@code null} for a
+     * continuation line.
+     */
+    static String timestamp(String line) {
+        int start = keyIndex(line, TIMESTAMP_LENGTH);
+        return start < 0 ? null : line.substring(start, start + TIMESTAMP_LENGTH);
+    }
+
+    static boolean isJson(CharSequence line) {
+        return line.length() >= JSON_PREFIX.length()
+                && JSON_PREFIX.contentEquals(line.subSequence(0, JSON_PREFIX.length()));
+    }
+
+    static boolean startsWith(ByteBuffer buffer, int index, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(index + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int keyIndex(CharSequence line, int length) {
+        int start = isJson(line) ? JSON_PREFIX.length() : 0;
+        if (line.length() - start < length) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isValid(i, line.charAt(start + i))) {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    private static boolean isValid(int position, int c) {
+        return switch (position) {
+            case 4, 7 -> c == '-';
+            case 10 -> c == ' ';
+            case 13, 16 -> c == ':';
+            default -> c >= '0' && c <= '9';
+        };
+    }
+}
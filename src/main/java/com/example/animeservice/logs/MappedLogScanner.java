@@ -0,0 +1,217 @@
+package com.example.animeservice.logs;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the byte ranges of one day in a plain log file. The file is split into newline-aligned
+ * chunks that are memory-mapped and scanned on a fork-join pool; the date prefix is compared on
+ * raw bytes, so non-matching lines are skipped without decoding or allocation. The chunk size is
+ * the file size spread over the pool, kept between the configured minimum and maximum, so even
+ * a small rolled segment is split across all workers.
+ */
+@Component
+public class MappedLogScanner {
+
+    private static final int BOUNDARY_PROBE_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+    private final long maxChunkSize;
+    private final long minChunkSize;
+
+    public MappedLogScanner(
+            @Value("${logs.scan.parallelism:0}") int parallelism,
+            @Value("${logs.scan.chunk-size-bytes:67108864}") long maxChunkSize,
+            @Value("${logs.scan.min-chunk-size-bytes:1048576}") long minChunkSize) {
+        this.pool = new ForkJoinPool(parallelism > 0
+                ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxChunkSize = maxChunkSize;
+        this.minChunkSize = Math.min(minChunkSize, maxChunkSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public List<LogRange> findDayRanges(Path file, LocalDate date) throws IOException {
+        byte[] day = date.toString().getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, channel.size());
+            if (bounds.length < 2) {
+                return List.of();
+            }
+            List<ChunkResult> chunks;
+            try {
+                chunks = pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1, day));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return mergeChunks(file, chunks);
+        }
+    }
+
+    long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_SIZE);
+        long perWorker = (size + pool.getParallelism() - 1) / pool.getParallelism();
+        long chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, perWorker));
+        long nominal = chunkSize;
+        while (nominal < size) {
+            long boundary = nextLineStart(channel, probe, nominal, size);
+            if (boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            nominal = boundary + chunkSize;
+        }
+        if (size > 0) {
+            bounds.add(size);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer probe, long from, long size)
+            throws IOException {
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static List<LogRange> mergeChunks(Path file, List<ChunkResult> chunks) {
+        List<LogRange> ranges = new ArrayList<>();
+        boolean previousInDay = false;
+        for (ChunkResult chunk : chunks) {
+            if (previousInDay && chunk.leadingEnd() > chunk.start()) {
+                append(ranges, file, chunk.start(), chunk.leadingEnd());
+            }
+            for (long[] range : chunk.ranges()) {
+                append(ranges, file, range[0], range[1]);
+            }
+            if (chunk.sawTimestamp()) {
+                previousInDay = chunk.endsInDay();
+            }
+        }
+        return ranges;
+    }
+
+    private static void append(List<LogRange> ranges, Path file, long start, long end) {
+        if (!ranges.isEmpty() && ranges.get(ranges.size() - 1).end() == start) {
+            LogRange last = ranges.remove(ranges.size() - 1);
+            ranges.add(new LogRange(file, last.start(), end));
+        } else {
+            ranges.add(new LogRange(file, start, end));
+        }
+    }
+
+    static ChunkResult scanChunk(ByteBuffer buffer, long chunkStart, byte[] day) {
+        int length = buffer.limit();
+        List<long[]> ranges = new ArrayList<>();
+        boolean sawTimestamp = false;
+        boolean inDay = false;
+        int leadingEnd = length;
+        int rangeStart = -1;
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int hourKey = LogTimestamps.hourKeyIndex(buffer, lineStart, lineEnd - lineStart);
+            if (hourKey >= 0) {
+                if (!sawTimestamp) {
+                    sawTimestamp = true;
+                    leadingEnd = lineStart;
+                }
+                inDay = LogTimestamps.startsWith(buffer, hourKey, day);
+            }
+            if (sawTimestamp) {
+                if (inDay && rangeStart < 0) {
+                    rangeStart = lineStart;
+                } else if (!inDay && rangeStart >= 0) {
+                    ranges.add(new long[] {chunkStart + rangeStart, chunkStart + lineStart});
+                    rangeStart = -1;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (rangeStart >= 0) {
+            ranges.add(new long[] {chunkStart + rangeStart, chunkStart + length});
+        }
+        return new ChunkResult(chunkStart, chunkStart + leadingEnd, ranges, sawTimestamp, inDay);
+    }
+
+    record ChunkResult(long start, long leadingEnd, List<long[]> ranges,
+                       boolean sawTimestamp, boolean endsInDay) {
+    }
+
+    private static final class ChunkTask extends RecursiveTask<List<ChunkResult>> {
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+        private final byte[] day;
+
+        private ChunkTask(FileChannel channel, long[] bounds, int from, int to, byte[] day) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.day = day;
+        }
+
+        @Override
+        protected List<ChunkResult> compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(channel, bounds, from, middle, day);
+                left.fork();
+                List<ChunkResult> right =
+                        new ChunkTask(channel, bounds, middle, to, day).compute();
+                List<ChunkResult> results = new ArrayList<>(left.join());
+                results.addAll(right);
+                return results;
+            }
+            long start = bounds[from];
+            long size = bounds[to] - start;
+            if (size > Integer.MAX_VALUE) {
+                throw new UncheckedIOException(
+                        new IOException("Log line too long to map at offset " + start));
+            }
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                return List.of(scanChunk(buffer, start, day));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
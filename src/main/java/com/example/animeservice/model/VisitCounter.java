@@ -0,0 +1,22 @@
+package com.example.animeservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "visit_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitCounter {
+    @Id
+    private String route;
+
+    @Column(nullable = false)
+    private long visitCount;
+}
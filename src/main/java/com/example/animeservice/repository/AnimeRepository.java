@@ -1,12 +1,34 @@
 package com.example.animeservice.repository;
 
 import com.example.animeservice.model.Anime;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AnimeRepository extends JpaRepository<Anime, Long>,
         JpaSpecificationExecutor<Anime> {
 
+    @Query("SELECT a.id FROM Anime a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            value = """
+        SELECT a.genre, a.release_year, COUNT(*) AS total, GROUPING(a.genre) AS by_year
+            FROM animes a
+            WHERE (:title IS NULL OR LOWER(a.title) LIKE LOWER(CONCAT('%', :title, '%')))
+             AND (:genre IS NULL OR a.genre = :genre)
+             AND (:releaseYear IS NULL OR a.release_year = :releaseYear)
+            GROUP BY GROUPING SETS ((a.genre), (a.release_year))""",
+            nativeQuery = true
+    )
+    List<Object[]> countFacetsByParams(
+            @Param("title") String title,
+            @Param("genre") String genre,
+            @Param("releaseYear") Integer releaseYear
+    );
 }
\ No newline at end of file
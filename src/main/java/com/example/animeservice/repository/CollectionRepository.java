@@ -1,9 +1,15 @@
 package com.example.animeservice.repository;
 
 import com.example.animeservice.model.Collection;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,6 +23,54 @@ public interface CollectionRepository extends JpaRepository<Collection, Long> {
     @Query("SELECT c FROM Collection c JOIN c.animes a WHERE a.id = :animeId")
     List<Collection> findByAnimesId(@Param("animeId") Long animeId);
 
+    @Query("SELECT c FROM Collection c JOIN c.animes a WHERE a.id IN :animeIds "
+            + "GROUP BY c HAVING COUNT(DISTINCT a.id) = :animeCount")
+    List<Collection> findContainingAllAnimes(
+            @Param("animeIds") java.util.Collection<Long> animeIds,
+            @Param("animeCount") long animeCount
+    );
+
+    @Query("SELECT c.id FROM Collection c WHERE c.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query(value = "SELECT ca.collection_id, ca.anime_id FROM collection_anime ca",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAllMemberships();
+
+    @Query("SELECT c.user.id FROM Collection c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query(
+            value = """
+        INSERT INTO collection_anime (collection_id, anime_id)
+            SELECT :collectionId, a.id
+            FROM animes a
+            WHERE a.id IN (:animeIds)
+             AND NOT EXISTS (SELECT 1 FROM collection_anime ca
+                             WHERE ca.collection_id = :collectionId AND ca.anime_id = a.id)""",
+            nativeQuery = true
+    )
+    int addMemberships(
+            @Param("collectionId") Long collectionId,
+            @Param("animeIds") java.util.Collection<Long> animeIds
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM collection_anime "
+            + "WHERE collection_id = :collectionId AND anime_id IN (:animeIds)",
+            nativeQuery = true)
+    int removeMemberships(
+            @Param("collectionId") Long collectionId,
+            @Param("animeIds") java.util.Collection<Long> animeIds
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM collection_anime WHERE anime_id IN (:animeIds)",
+            nativeQuery = true)
+    int deleteMembershipsByAnimeIds(@Param("animeIds") java.util.Collection<Long> animeIds);
+
     @Query("SELECT DISTINCT c FROM Collection c LEFT JOIN FETCH c.animes WHERE c IN :collections")
     List<Collection> fetchCollectionsWithAnimes(@Param("collections") List<Collection> collections);
 
@@ -33,7 +87,8 @@ public interface CollectionRepository extends JpaRepository<Collection, Long> {
             ORDER BY c.id, a.id""",
             nativeQuery = true
     )
-    List<Object[]> searchCollectionsWithAnimeByParams(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> searchCollectionsWithAnimeByParams(
             @Param("title") String title,
             @Param("genre") String genre,
             @Param("releaseYear") Integer releaseYear
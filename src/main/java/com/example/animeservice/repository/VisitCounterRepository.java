@@ -0,0 +1,11 @@
+package com.example.animeservice.repository;
+
+import com.example.animeservice.model.VisitCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VisitCounterRepository extends JpaRepository<VisitCounter, String>,
+        VisitCounterRepositoryCustom {
+
+}
@@ -0,0 +1,7 @@
+package com.example.animeservice.repository;
+
+import java.util.Map;
+
+public interface VisitCounterRepositoryCustom {
+    void addVisitCounts(Map<String, Long> deltas);
+}
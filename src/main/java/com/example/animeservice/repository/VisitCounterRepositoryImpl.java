@@ -0,0 +1,27 @@
+package com.example.animeservice.repository;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class VisitCounterRepositoryImpl implements VisitCounterRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO visit_counters (route, visit_count) VALUES (?, ?)
+            ON CONFLICT (route)
+            DO UPDATE SET visit_count = visit_counters.visit_count + EXCLUDED.visit_count""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void addVisitCounts(Map<String, Long> deltas) {
+        List<Object[]> batch = deltas.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+}
@@ -1,25 +1,153 @@
 package com.example.animeservice.repository;
 
 import com.example.animeservice.dto.VisitDto;
+import com.example.animeservice.stats.HyperLogLog;
+import com.example.animeservice.stats.SlidingWindowCounter;
+import com.example.animeservice.stats.StripedTopK;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class VisitRepository {
-    private final Map<String, VisitDto> visitMap = new ConcurrentHashMap<>();
+    public static final int RATE_WINDOW_SECONDS = 15 * 60;
+
+    private final ConcurrentHashMap<String, LongAdder> routeVisits = new ConcurrentHashMap<>();
+    private final Map<String, Long> flushedRouteVisits = new HashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> routeRates =
+            new ConcurrentHashMap<>();
+    private final StripedTopK urlVisits;
+    private final ConcurrentHashMap<LocalDate, ConcurrentHashMap<String, HyperLogLog>>
+            visitorSketches = new ConcurrentHashMap<>();
+
+    public VisitRepository(@Value("${visits.heavy-hitters.capacity:1000}") int urlCapacity,
+                           @Value("${visits.heavy-hitters.stripes:0}") int urlStripes,
+                           @Value("${visits.async.enabled:true}") boolean asyncVisits) {
+        // With async visits every offer comes from the single consumer thread, so extra
+        // stripes would only cost memory and slow down merges on reads.
+        this.urlVisits = new StripedTopK(urlCapacity, asyncVisits ? 1 : urlStripes > 0
+                ? urlStripes : Runtime.getRuntime().availableProcessors());
+    }
+
+    public Optional<VisitDto> findByRoute(String route) {
+        return toDto(route, routeVisits.get(route));
+    }
 
     public Optional<VisitDto> findByUrl(String url) {
-        return Optional.ofNullable(visitMap.get(url));
+        if (!urlVisits.contains(url)) {
+            return Optional.empty();
+        }
+        VisitDto visitDto = new VisitDto();
+        visitDto.setUrl(url);
+        visitDto.setVisitCount(urlVisits.estimate(url));
+        return Optional.of(visitDto);
+    }
+
+    public StripedTopK getUrlVisits() {
+        return urlVisits;
+    }
+
+    public List<VisitDto> findAllRoutes() {
+        return routeVisits.entrySet().stream()
+                .map(entry -> toDto(entry.getKey(), entry.getValue()).orElseThrow())
+                .sorted(Comparator.comparing(VisitDto::getUrl))
+                .toList();
+    }
+
+    public void incrementRoute(String route) {
+        increment(routeVisits, route);
+    }
+
+    public synchronized void loadRouteVisits(Map<String, Long> persisted) {
+        persisted.forEach((route, count) -> {
+            routeVisits.computeIfAbsent(route, r -> new LongAdder()).add(count);
+            flushedRouteVisits.merge(route, count, Long::sum);
+        });
+    }
+
+    public synchronized Map<String, Long> findUnflushedRouteVisits() {
+        Map<String, Long> deltas = new HashMap<>();
+        routeVisits.forEach((route, counter) -> {
+            long delta = counter.sum() - flushedRouteVisits.getOrDefault(route, 0L);
+            if (delta > 0) {
+                deltas.put(route, delta);
+            }
+        });
+        return deltas;
+    }
+
+    public synchronized void markRouteVisitsFlushed(Map<String, Long> deltas) {
+        deltas.forEach((route, delta) -> flushedRouteVisits.merge(route, delta, Long::sum));
+    }
+
+    public void incrementRouteRate(String route, long epochSecond) {
+        SlidingWindowCounter counter = routeRates.get(route);
+        if (counter == null) {
+            counter = routeRates.computeIfAbsent(route,
+                    r -> new SlidingWindowCounter(RATE_WINDOW_SECONDS));
+        }
+        counter.increment(epochSecond);
+    }
+
+    public Map<String, SlidingWindowCounter> findAllRouteRates() {
+        return routeRates;
+    }
+
+    public void incrementUrl(String url) {
+        urlVisits.offer(url);
+    }
+
+    public void addVisitor(LocalDate day, String route, long clientHash) {
+        ConcurrentHashMap<String, HyperLogLog> daySketches = visitorSketches.get(day);
+        if (daySketches == null) {
+            daySketches = visitorSketches.computeIfAbsent(day, d -> new ConcurrentHashMap<>());
+        }
+        HyperLogLog sketch = daySketches.get(route);
+        if (sketch == null) {
+            sketch = daySketches.computeIfAbsent(route, r -> new HyperLogLog());
+        }
+        sketch.addHash(clientHash);
+    }
+
+    public Optional<HyperLogLog> findVisitorSketch(LocalDate day, String route) {
+        Map<String, HyperLogLog> daySketches = visitorSketches.get(day);
+        return daySketches == null ? Optional.empty() : Optional.ofNullable(daySketches.get(route));
+    }
+
+    public void deleteVisitorSketchesBefore(LocalDate day) {
+        visitorSketches.keySet().removeIf(sketchDay -> sketchDay.isBefore(day));
+    }
+
+    public synchronized void deleteAll() {
+        routeVisits.clear();
+        flushedRouteVisits.clear();
+        routeRates.clear();
+        urlVisits.clear();
+        visitorSketches.clear();
     }
 
-    public synchronized VisitDto save(VisitDto visitDto) {
-        visitMap.put(visitDto.getUrl(), visitDto);
-        return visitDto;
+    private void increment(Map<String, LongAdder> counters, String key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
     }
 
-    public void deleteAll() {
-        visitMap.clear();
+    private Optional<VisitDto> toDto(String url, LongAdder counter) {
+        if (counter == null) {
+            return Optional.empty();
+        }
+        VisitDto visitDto = new VisitDto();
+        visitDto.setUrl(url);
+        visitDto.setVisitCount(counter.sum());
+        return Optional.of(visitDto);
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,16 @@ package com.example.animeservice.service;
 
 import com.example.animeservice.cache.CacheService;
 import com.example.animeservice.dto.AnimeDto;
+import com.example.animeservice.dto.AnimeFacetsDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Anime;
-import com.example.animeservice.model.Collection;
 import com.example.animeservice.repository.AnimeRepository;
 import com.example.animeservice.repository.CollectionRepository;
 import com.example.animeservice.specs.AnimeSpecifications;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
@@ -20,9 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AnimeService {
 
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final AnimeRepository animeRepository;
     private final CollectionRepository collectionRepository;
     private final CacheService cacheService;
+    private final CollectionMembershipIndex membershipIndex;
 
     public List<AnimeDto> getAllAnimes() {
         return animeRepository.findAll(Sort.by("id"))
@@ -71,19 +77,37 @@ public class AnimeService {
 
     @Transactional
     public void deleteAnime(Long id) {
-        Anime anime = animeRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Anime not found with id: " + id));
-
-        List<Collection> collections = anime.getCollections();
-        for (Collection collection : collections) {
-            collection.getAnimes().remove(anime);
+        if (!animeRepository.existsById(id)) {
+            throw new EntityNotFoundException("Anime not found with id: " + id);
         }
-        collectionRepository.saveAll(collections);
-        animeRepository.delete(anime);
+        deleteByIds(List.of(id));
         cacheService.invalidate("anime_" + id);
         cacheService.invalidateByPrefix("anime_search_");
-        cacheService.invalidateByPrefix("collection_search_anime_");
+        cacheService.invalidateByPrefix("anime_facets_");
+        invalidateMembershipCache();
+    }
+
+    @Transactional
+    public void deleteAnimes(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one anime ID must be provided");
+        }
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        if (animeRepository.findExistingIds(distinctIds).size() != distinctIds.size()) {
+            throw new EntityNotFoundException("One or more anime not found");
+        }
+        deleteByIds(distinctIds);
+        invalidateAnimeCache();
+        invalidateMembershipCache();
+    }
+
+    private void deleteByIds(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size()));
+            collectionRepository.deleteMembershipsByAnimeIds(batch);
+            animeRepository.deleteAllByIdInBatch(batch);
+        }
+        membershipIndex.removeAnimes(ids);
     }
 
     public List<AnimeDto> searchAnimes(String title, String genre, Integer year) {
@@ -106,6 +130,37 @@ public class AnimeService {
         return result;
     }
 
+    public AnimeFacetsDto getAnimeFacets(String title, String genre, Integer year) {
+        String cacheKey = "anime_facets_" + (title != null ? title : "") + "_"
+                + (genre != null ? genre : "") + "_" + (year != null ? year : "");
+        AnimeFacetsDto cached = (AnimeFacetsDto) cacheService.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        long total = 0;
+        Map<String, Long> genres = new LinkedHashMap<>();
+        Map<Integer, Long> releaseYears = new LinkedHashMap<>();
+        for (Object[] row : animeRepository.countFacetsByParams(title, genre, year)) {
+            long count = ((Number) row[2]).longValue();
+            boolean byYear = ((Number) row[3]).intValue() == 1;
+            if (byYear) {
+                if (row[1] != null) {
+                    releaseYears.put(((Number) row[1]).intValue(), count);
+                }
+            } else {
+                total += count;
+                if (row[0] != null) {
+                    genres.put((String) row[0], count);
+                }
+            }
+        }
+
+        AnimeFacetsDto result = new AnimeFacetsDto(total, genres, releaseYears);
+        cacheService.put(cacheKey, result);
+        return result;
+    }
+
     private AnimeDto convertToDto(Anime anime) {
         AnimeDto dto = new AnimeDto();
         dto.setId(anime.getId());
@@ -118,9 +173,16 @@ public class AnimeService {
     private void invalidateAnimeCache() {
         cacheService.invalidateByPrefix("anime_");
         cacheService.invalidateByPrefix("anime_search_");
+        cacheService.invalidateByPrefix("anime_facets_");
         cacheService.invalidateByPrefix("collection_search_anime_");
     }
 
+    private void invalidateMembershipCache() {
+        cacheService.invalidateByPrefix("collection_");
+        cacheService.invalidateByPrefix("collections_user_");
+        cacheService.invalidateByPrefix("user_collections_");
+    }
+
     @Transactional
     public List<AnimeDto> createAnimes(List<AnimeDto> dtos) {
         List<Anime> animes = dtos.stream()
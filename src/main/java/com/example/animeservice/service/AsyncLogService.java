@@ -1,143 +1,346 @@
 package com.example.animeservice.service;
 
+import com.example.animeservice.config.LogJobExecutorConfig;
 import com.example.animeservice.dto.LogStatusResponse;
 import com.example.animeservice.exception.EntityNotFoundException;
-import java.io.BufferedReader;
+import com.example.animeservice.logs.LogExtractionPlan;
+import com.example.animeservice.logs.LogJob;
+import com.example.animeservice.logs.LogJobStatus;
+import com.example.animeservice.logs.LogJobStore;
+import com.example.animeservice.logs.LogSegmentExtractor;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @Slf4j
 public class AsyncLogService {
 
-    private static final String LOG_PATH = "logs";
     private static final String LOG_FILE_PREFIX = "app-";
     private static final String LOG_FILE_EXTENSION = ".log";
-    private static final String MAIN_LOG_FILE = LOG_PATH + "/app.log";
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String NOT_FOUND_STATUS = "NOT_FOUND";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_EXTRACT_PREFIX = ".extract-";
+    private static final String TEMP_GZIP_PREFIX = ".gzip-";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String STATUS_EVENT = "status";
+    private static final Pattern EXTRACT_NAME = Pattern.compile(
+            "app-(\\d{4}-\\d{2}-\\d{2})\\.([0-9a-f]{8}-[0-9a-f-]{27})\\.log(\\.gz)?");
+    private static final Duration SUPERSEDED_EXTRACT_GRACE = Duration.ofMinutes(5);
 
-    private final ConcurrentHashMap<String, String> logStatuses = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor logJobExecutor;
+    private final LogSegmentExtractor logSegmentExtractor;
+    private final LogJobStore logJobStore;
+    private final String logPath;
+    private final boolean gzipVariantEnabled;
+    private final TaskScheduler logStatusScheduler;
+    private final long maxWaitSeconds;
+    private final long maxStreamSeconds;
+    private final long progressIntervalMs;
 
-    @Async
-    public CompletableFuture<String> createLogFile(String date) throws InterruptedException {
-        String logId = UUID.randomUUID().toString();
-        logStatuses.put(logId, "IN_PROGRESS");
+    public AsyncLogService(
+            @Qualifier(LogJobExecutorConfig.LOG_JOB_EXECUTOR) ThreadPoolTaskExecutor logJobExecutor,
+            LogSegmentExtractor logSegmentExtractor,
+            LogJobStore logJobStore,
+            @Value("${logs.path:logs}") String logPath,
+            @Value("${logs.download.gzip-variant:true}") boolean gzipVariantEnabled,
+            @Qualifier(LogJobExecutorConfig.LOG_STATUS_SCHEDULER) TaskScheduler logStatusScheduler,
+            @Value("${logs.status.max-wait-seconds:25}") long maxWaitSeconds,
+            @Value("${logs.status.stream-timeout-seconds:600}") long maxStreamSeconds,
+            @Value("${logs.status.progress-interval-ms:1000}") long progressIntervalMs) {
+        this.logJobExecutor = logJobExecutor;
+        this.logSegmentExtractor = logSegmentExtractor;
+        this.logJobStore = logJobStore;
+        this.logPath = logPath;
+        this.gzipVariantEnabled = gzipVariantEnabled;
+        this.logStatusScheduler = logStatusScheduler;
+        this.maxWaitSeconds = maxWaitSeconds;
+        this.maxStreamSeconds = maxStreamSeconds;
+        this.progressIntervalMs = progressIntervalMs;
+    }
 
-        try {
-            Thread.sleep(20000);
-            LocalDate logDate = parseDate(date);
-            String fileName = buildLogFilePath(logDate);
-            createLogFileIfNotExists(logDate, fileName);
-            logStatuses.put(logId, "COMPLETED");
-            return CompletableFuture.completedFuture(logId);
-        } catch (InterruptedException e) {
-            logStatuses.put(logId, "FAILED");
-            log.error("Log creation failed for date: {}", date, e);
-            throw new InterruptedException();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    @PostConstruct
+    public void removeAbandonedTemporaryFiles() {
+        File[] abandoned = new File(logPath).listFiles((dir, name) -> name.endsWith(TEMP_SUFFIX)
+                && (name.startsWith(TEMP_EXTRACT_PREFIX) || name.startsWith(TEMP_GZIP_PREFIX)
+                || name.startsWith(LogSegmentExtractor.TEMP_PART_PREFIX)));
+        if (abandoned == null) {
+            return;
+        }
+        for (File file : abandoned) {
+            if (!file.delete()) {
+                log.warn("Failed to delete abandoned temporary log file {}", file);
+            }
         }
     }
 
-    public LogStatusResponse getLogStatus(String logId, String date) throws InterruptedException {
-        String status = logStatuses.getOrDefault(logId, "NOT_FOUND");
-        if ("COMPLETED".equals(status) && !verifyLogFileExists(date)) {
-            status = "FAILED";
-        }
-        return new LogStatusResponse(logId, status);
+    public String submitLogJob(String date) throws IOException {
+        return acquireLogJob(parseDate(date)).getId();
     }
 
-    public File getLogFile(String date) throws IOException, InterruptedException {
-        LocalDate logDate = parseDate(date);
-        String fileName = buildLogFilePath(logDate);
-        File logFile = new File(fileName);
+    public LogStatusResponse getLogStatus(String logId) {
+        LogJob job = logJobStore.get(logId);
+        if (job == null) {
+            return new LogStatusResponse(logId, NOT_FOUND_STATUS, null, 0, null);
+        }
+        return toStatusResponse(job);
+    }
 
-        if (!logFile.exists()) {
-            createLogFileIfNotExists(logDate, fileName);
+    public CompletableFuture<LogStatusResponse> awaitLogStatus(String logId, long waitSeconds) {
+        LogJob job = logJobStore.get(logId);
+        long timeout = Math.min(Math.max(waitSeconds, 0), maxWaitSeconds);
+        if (job == null || timeout == 0 || job.getStatus().isTerminal()) {
+            return CompletableFuture.completedFuture(getLogStatus(logId));
         }
+        return job.getCompletion().copy()
+                .completeOnTimeout(job, timeout, TimeUnit.SECONDS)
+                .thenApply(this::toStatusResponse);
+    }
 
-        if (!logFile.exists() || logFile.length() == 0) {
-            throw new EntityNotFoundException("Log file not found or empty for date: " + date);
+    public SseEmitter streamLogStatus(String logId) {
+        LogJob job = logJobStore.get(logId);
+        if (job == null) {
+            throw new EntityNotFoundException("Log job not found with id: " + logId);
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(maxStreamSeconds));
+        if (!sendStatus(emitter, job) || job.getStatus().isTerminal()) {
+            emitter.complete();
+            return emitter;
         }
+        // Sends block while a slow client drains its socket, so they run on the status
+        // scheduler rather than on the shared @Scheduled thread or a log job worker.
+        ScheduledFuture<?> ticker = logStatusScheduler.scheduleAtFixedRate(
+                () -> sendStatus(emitter, job), Duration.ofMillis(progressIntervalMs));
+        Runnable stopTicker = () -> ticker.cancel(false);
+        emitter.onCompletion(stopTicker);
+        emitter.onTimeout(stopTicker);
+        emitter.onError(error -> stopTicker.run());
+        job.getCompletion().whenComplete((finished, error) -> {
+            stopTicker.run();
+            logStatusScheduler.schedule(() -> {
+                if (sendStatus(emitter, job)) {
+                    emitter.complete();
+                }
+            }, Instant.now());
+        });
+        return emitter;
+    }
 
-        return logFile;
+    public LogStatusResponse cancelLogJob(String logId) {
+        LogJob job = logJobStore.get(logId);
+        if (job == null) {
+            throw new EntityNotFoundException("Log job not found with id: " + logId);
+        }
+        if (job.cancel()) {
+            logJobStore.markChanged();
+            log.info("Cancelled log job {} for date {}", logId, job.getDate());
+        }
+        return toStatusResponse(job);
     }
 
-    private LocalDate parseDate(String date) {
-        return LocalDate.parse(date, DATE_FORMATTER);
+    public Map<String, Long> countJobsByStatus() {
+        return logJobStore.findAll().stream()
+                .collect(Collectors.groupingBy(job -> job.getStatus().name(),
+                        Collectors.counting()));
     }
 
-    private String buildLogFilePath(LocalDate date) {
-        return LOG_PATH + "/" + LOG_FILE_PREFIX + date + LOG_FILE_EXTENSION;
+    /**
+     * Returns the most recent completed extract for the date as it is, without re-planning, so
+     * a download never waits for an extraction. Use {@link #submitLogJob} to refresh it.
+     */
+    public Optional<File> findLogFile(String date) {
+        LogJob job = logJobStore.findLatestCompletedByDate(parseDate(date));
+        if (job == null) {
+            return Optional.empty();
+        }
+        File logFile = new File(buildLogFilePath(job));
+        return logFile.length() > 0 ? Optional.of(logFile) : Optional.empty();
     }
 
-    private void createLogFileIfNotExists(LocalDate date, String fileName)
-            throws InterruptedException, IOException {
-        File logFile = new File(fileName);
-        if (!logFile.exists()) {
-            ensureLogDirectoryExists();
-            writeLogEntriesToFile(date, logFile);
+    /**
+     * Every job writes its own extract, so a file being downloaded is never replaced. Extracts
+     * superseded by a newer completed job, or left by evicted and cancelled jobs, are deleted
+     * once they have been out of use for a grace period that outlasts any download start.
+     */
+    @Scheduled(fixedDelayString = "${logs.download.cleanup-interval-ms:60000}")
+    public void deleteSupersededExtracts() {
+        File[] extracts = new File(logPath).listFiles(
+                (dir, name) -> EXTRACT_NAME.matcher(name).matches());
+        if (extracts == null) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(SUPERSEDED_EXTRACT_GRACE);
+        for (File extract : extracts) {
+            Matcher matcher = EXTRACT_NAME.matcher(extract.getName());
+            matcher.matches();
+            LogJob current = logJobStore.findLatestCompletedByDate(
+                    LocalDate.parse(matcher.group(1), DATE_FORMATTER));
+            if (current != null && current.getId().equals(matcher.group(2))) {
+                continue;
+            }
+            Instant supersededAt = current != null && current.getFinishedAt() != null
+                    ? current.getFinishedAt() : Instant.ofEpochMilli(extract.lastModified());
+            if (supersededAt.isBefore(cutoff) && !extract.delete() && extract.exists()) {
+                log.warn("Failed to delete superseded log extract {}", extract);
+            }
         }
     }
 
-    private void ensureLogDirectoryExists() throws IOException {
-        File logDir = new File(LOG_PATH);
-        if (!logDir.exists() && !logDir.mkdirs()) {
-            throw new IOException("Failed to create log directory");
+    public File getGzipVariant(File logFile) {
+        return gzipVariantEnabled ? new File(logFile.getPath() + GZIP_EXTENSION) : null;
+    }
+
+    private synchronized LogJob acquireLogJob(LocalDate date) throws IOException {
+        LogJob current = logJobStore.findLatestByDate(date);
+        if (current != null && (!current.getStatus().isTerminal() || isReusable(current))) {
+            return current;
+        }
+        LogJob job = new LogJob(UUID.randomUUID().toString(), date);
+        logJobStore.put(job);
+        try {
+            job.setFuture(logJobExecutor.submit(() -> runLogJob(job)));
+        } catch (RejectedExecutionException e) {
+            logJobStore.remove(job);
+            throw e;
         }
+        return job;
     }
 
-    private void writeLogEntriesToFile(LocalDate date, File logFile) throws IOException {
-        try (FileWriter writer = new FileWriter(logFile)) {
-            for (String entry : collectLogEntries(date)) {
-                writer.write(entry + System.lineSeparator());
-            }
+    private boolean isReusable(LogJob job) throws IOException {
+        return job.getStatus() == LogJobStatus.COMPLETED
+                && new File(buildLogFilePath(job)).exists()
+                && logSegmentExtractor.plan(job.getDate()).fingerprint()
+                        .equals(job.getSourceFingerprint());
+    }
+
+    private void runLogJob(LogJob job) {
+        if (!job.start()) {
+            return;
+        }
+        File logFile = new File(buildLogFilePath(job));
+        try {
+            LogExtractionPlan plan = logSegmentExtractor.plan(job.getDate());
+            job.setTotalBytes(plan.totalBytes());
+            job.setSourceFingerprint(plan.fingerprint());
+            writeLogFile(logFile.toPath(), plan, job::addProcessedBytes);
+            job.complete();
+        } catch (InterruptedIOException | ClosedByInterruptException e) {
+            log.info("Log job {} for date {} was cancelled", job.getId(), job.getDate());
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage());
+            log.error("Log creation failed for date: {}", job.getDate(), e);
+        } finally {
+            logJobStore.markChanged();
         }
     }
 
-    private boolean verifyLogFileExists(String date) throws InterruptedException {
+    private boolean sendStatus(SseEmitter emitter, LogJob job) {
         try {
-            return getLogFile(date).exists();
-        } catch (InterruptedException e) {
-            throw new InterruptedException();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            emitter.send(SseEmitter.event()
+                    .name(STATUS_EVENT)
+                    .data(toStatusResponse(job), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Log status stream for job {} closed", job.getId(), e);
+            emitter.completeWithError(e);
+            return false;
         }
     }
 
-    private List<String> collectLogEntries(LocalDate date) throws IOException {
-        List<String> entries = new ArrayList<>();
-        String datePrefix = date.toString();
+    private LogStatusResponse toStatusResponse(LogJob job) {
+        return new LogStatusResponse(job.getId(), job.getStatus().name(),
+                job.getDate().toString(), job.getProgress(), job.getError());
+    }
 
-        collectEntriesFromFile(new File(MAIN_LOG_FILE), datePrefix, entries);
-        collectEntriesFromFile(new File(buildLogFilePath(date)), datePrefix, entries);
+    private LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format, expected yyyy-MM-dd: "
+                    + date);
+        }
+    }
 
-        return entries;
+    private String buildLogFilePath(LogJob job) {
+        return logPath + "/" + LOG_FILE_PREFIX + job.getDate() + "." + job.getId()
+                + LOG_FILE_EXTENSION;
     }
 
-    private void collectEntriesFromFile(File file, String datePrefix, List<String> entries)
+    private void writeLogFile(Path logFile, LogExtractionPlan plan, LongConsumer progress)
             throws IOException {
-        if (file.exists()) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.startsWith(datePrefix)) {
-                        entries.add(line);
-                    }
-                }
+        ensureLogDirectoryExists();
+        Path extract = Files.createTempFile(logFile.getParent(), TEMP_EXTRACT_PREFIX, TEMP_SUFFIX);
+        Path gzip = null;
+        try {
+            try (FileChannel out = FileChannel.open(extract, StandardOpenOption.WRITE)) {
+                logSegmentExtractor.extract(plan, out, progress);
+                out.force(false);
             }
+            File gzipVariant = getGzipVariant(logFile.toFile());
+            if (gzipVariant != null) {
+                gzip = Files.createTempFile(logFile.getParent(), TEMP_GZIP_PREFIX, TEMP_SUFFIX);
+                writeGzip(extract, gzip);
+            }
+            if (gzip != null) {
+                Files.move(gzip, gzipVariant.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(extract, logFile, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(extract);
+            if (gzip != null) {
+                Files.deleteIfExists(gzip);
+            }
+        }
+    }
+
+    private void writeGzip(Path source, Path target) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(target)), GZIP_BUFFER_SIZE)) {
+            Files.copy(source, out);
+        }
+    }
+
+    private void ensureLogDirectoryExists() throws IOException {
+        File logDir = new File(logPath);
+        if (!logDir.exists() && !logDir.mkdirs()) {
+            throw new IOException("Failed to create log directory");
         }
     }
-}
\ No newline at end of file
+}
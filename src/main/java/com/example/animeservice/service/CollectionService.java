@@ -5,6 +5,7 @@ import com.example.animeservice.dto.AnimeDto;
 import com.example.animeservice.dto.CollectionDto;
 import com.example.animeservice.dto.CollectionWithAnimeDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Anime;
 import com.example.animeservice.model.Collection;
 import com.example.animeservice.model.User;
@@ -12,10 +13,13 @@ import com.example.animeservice.repository.AnimeRepository;
 import com.example.animeservice.repository.CollectionRepository;
 import com.example.animeservice.repository.UserRepository;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +34,7 @@ public class CollectionService {
     private final UserRepository userRepository;
     private final AnimeRepository animeRepository;
     private final CacheService cacheService;
+    private final CollectionMembershipIndex membershipIndex;
 
     public List<CollectionDto> getAllCollections() {
         return collectionRepository.findAll()
@@ -71,6 +76,7 @@ public class CollectionService {
         }
 
         CollectionDto result = convertToDto(collectionRepository.save(collection));
+        membershipIndex.replaceCollection(result.getId(), result.getAnimeIds());
         invalidateCollectionCache();
         return result;
     }
@@ -101,6 +107,9 @@ public class CollectionService {
         }
 
         CollectionDto result = convertToDto(collectionRepository.save(collection));
+        if (dto.getAnimeIds() != null) {
+            membershipIndex.replaceCollection(id, result.getAnimeIds());
+        }
         invalidateCollectionCache();
         return result;
     }
@@ -111,6 +120,7 @@ public class CollectionService {
             throw new EntityNotFoundException("Collection not found with id: " + id);
         }
         collectionRepository.deleteById(id);
+        membershipIndex.removeCollections(List.of(id));
 
         cacheService.invalidate("collection_" + id);
         cacheService.invalidateByPrefix("collections_user_");
@@ -119,6 +129,47 @@ public class CollectionService {
         cacheService.invalidateByPrefix("user_collections_");
     }
 
+    @Transactional
+    public void addAnimesToCollection(Long id, List<Long> animeIds) {
+        List<Long> distinctIds = requireDistinctAnimeIds(animeIds);
+        Long userId = findCollectionUserId(id);
+        if (animeRepository.findExistingIds(distinctIds).size() != distinctIds.size()) {
+            throw new EntityNotFoundException("One or more anime not found");
+        }
+        collectionRepository.addMemberships(id, distinctIds);
+        membershipIndex.addMemberships(id, distinctIds);
+        invalidateCollectionMembershipCache(id, userId);
+    }
+
+    @Transactional
+    public void removeAnimesFromCollection(Long id, List<Long> animeIds) {
+        List<Long> distinctIds = requireDistinctAnimeIds(animeIds);
+        Long userId = findCollectionUserId(id);
+        collectionRepository.removeMemberships(id, distinctIds);
+        membershipIndex.removeMemberships(id, distinctIds);
+        invalidateCollectionMembershipCache(id, userId);
+    }
+
+    private List<Long> requireDistinctAnimeIds(List<Long> animeIds) {
+        if (animeIds == null || animeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one anime ID must be provided");
+        }
+        return animeIds.stream().distinct().collect(Collectors.toList());
+    }
+
+    private Long findCollectionUserId(Long id) {
+        return collectionRepository.findUserIdById(id)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Collection not found with id: " + id));
+    }
+
+    private void invalidateCollectionMembershipCache(Long id, Long userId) {
+        cacheService.invalidate("collection_" + id);
+        cacheService.invalidate("collections_user_" + userId);
+        cacheService.invalidate("user_collections_" + userId);
+        cacheService.invalidateByPrefix("collection_search_");
+    }
+
     public List<CollectionDto> getCollectionsByUser(Long userId) {
         String cacheKey = "collections_user_" + userId;
         @SuppressWarnings("unchecked")
@@ -143,7 +194,13 @@ public class CollectionService {
             return cached;
         }
         List<CollectionDto> result;
-        if (name != null && animeId != null) {
+        if (name != null && animeId != null && membershipIndex.isReady()) {
+            result = collectionRepository.findByNameContainingIgnoreCase(name)
+                    .stream()
+                    .filter(collection -> membershipIndex.contains(collection.getId(), animeId))
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        } else if (name != null && animeId != null) {
             result = collectionRepository.findByNameContainingIgnoreCase(name)
                     .stream()
                     .filter(collection -> collection.getAnimes().stream()
@@ -155,6 +212,8 @@ public class CollectionService {
                     .stream()
                     .map(this::convertToDto)
                     .collect(Collectors.toList());
+        } else if (animeId != null && membershipIndex.isReady()) {
+            result = findCollectionsByIds(membershipIndex.findCollectionIdsContaining(animeId));
         } else if (animeId != null) {
             result = collectionRepository.findByAnimesId(animeId)
                     .stream()
@@ -167,6 +226,33 @@ public class CollectionService {
         return result;
     }
 
+    public List<CollectionDto> searchCollectionsContainingAll(List<Long> animeIds) {
+        if (animeIds == null || animeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one anime ID must be provided");
+        }
+        if (membershipIndex.isReady()) {
+            return findCollectionsByIds(
+                    membershipIndex.findCollectionIdsContainingAll(animeIds));
+        }
+        long distinctCount = animeIds.stream().distinct().count();
+        return collectionRepository.findContainingAllAnimes(animeIds, distinctCount)
+                .stream()
+                .sorted(Comparator.comparing(Collection::getId))
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<CollectionDto> findCollectionsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return collectionRepository.findAllById(ids)
+                .stream()
+                .sorted(Comparator.comparing(Collection::getId))
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<CollectionWithAnimeDto> searchCollectionsByAnimeParams(
             String title, String genre, Integer releaseYear) {
@@ -178,40 +264,49 @@ public class CollectionService {
         if (cached != null) {
             return cached;
         }
-        if (title == null && genre == null && releaseYear == null) {
-            throw new IllegalArgumentException("At least one parameter must be provided");
-        }
 
-        List<Object[]> results = collectionRepository
-                .searchCollectionsWithAnimeByParams(title, genre, releaseYear);
-
-        Map<Long, CollectionWithAnimeDto> collectionMap = new LinkedHashMap<>();
-
-        for (Object[] row : results) {
-            Long collectionId = ((Number) row[0]).longValue();
-            String collectionName = (String) row[1];
-            Long animeId = ((Number) row[2]).longValue();
-            String animeTitle = (String) row[3];
-            String animeGenre = (String) row[4];
-            Integer animeYear = (row[5] != null) ? ((Number) row[5]).intValue() : null;
-
-            CollectionWithAnimeDto collectionDto = collectionMap
-                    .computeIfAbsent(collectionId, id -> {
-                        CollectionWithAnimeDto dto = new CollectionWithAnimeDto();
-                        dto.setId(id);
-                        dto.setName(collectionName);
-                        dto.setAnimes(new ArrayList<>());
-                        return dto;
-                    });
-
-            AnimeDto animeDto = new AnimeDto(animeId, animeTitle, animeGenre, animeYear);
-            collectionDto.getAnimes().add(animeDto);
-        }
-        List<CollectionWithAnimeDto> result = new ArrayList<>(collectionMap.values());
+        List<CollectionWithAnimeDto> result = new ArrayList<>();
+        streamCollectionsByAnimeParams(title, genre, releaseYear, result::add);
         cacheService.put(cacheKey, result);
         return result;
     }
 
+    @Transactional(readOnly = true)
+    public void streamCollectionsByAnimeParams(String title, String genre, Integer releaseYear,
+                                               Consumer<CollectionWithAnimeDto> consumer) {
+        validateAnimeSearchParams(title, genre, releaseYear);
+        try (Stream<Object[]> rows = collectionRepository
+                .searchCollectionsWithAnimeByParams(title, genre, releaseYear)) {
+            CollectionWithAnimeDto current = null;
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                long collectionId = ((Number) row[0]).longValue();
+                if (current == null || current.getId() != collectionId) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new CollectionWithAnimeDto();
+                    current.setId(collectionId);
+                    current.setName((String) row[1]);
+                    current.setAnimes(new ArrayList<>());
+                }
+                Integer animeYear = (row[5] != null) ? ((Number) row[5]).intValue() : null;
+                current.getAnimes().add(new AnimeDto(((Number) row[2]).longValue(),
+                        (String) row[3], (String) row[4], animeYear));
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    public void validateAnimeSearchParams(String title, String genre, Integer releaseYear) {
+        if (title == null && genre == null && releaseYear == null) {
+            throw new IllegalArgumentException("At least one parameter must be provided");
+        }
+    }
+
     private CollectionDto convertToDto(Collection collection) {
         CollectionDto dto = new CollectionDto();
         dto.setId(collection.getId());
@@ -271,6 +366,7 @@ public class CollectionService {
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
 
+        result.forEach(dto -> membershipIndex.replaceCollection(dto.getId(), dto.getAnimeIds()));
         invalidateCollectionCache();
         return result;
     }
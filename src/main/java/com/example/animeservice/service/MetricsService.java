@@ -0,0 +1,115 @@
+package com.example.animeservice.service;
+
+import com.example.animeservice.cache.CacheService;
+import com.example.animeservice.dto.VisitDto;
+import com.example.animeservice.stats.LatencyHistogram;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MetricsService {
+
+    private final VisitService visitService;
+    private final VisitEventDispatcher visitEventDispatcher;
+    private final CacheService cacheService;
+    private final AsyncLogService asyncLogService;
+
+    private final ConcurrentHashMap<LatencyKey, LatencyHistogram> latencies =
+            new ConcurrentHashMap<>();
+
+    public void recordLatency(String controller, String method, long nanos) {
+        latencies.computeIfAbsent(new LatencyKey(controller, method),
+                key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        writeVisitMetrics(out);
+        writeCacheMetrics(out);
+        writeLogJobMetrics(out);
+        writeLatencyMetrics(out);
+        return out.toString();
+    }
+
+    private void writeVisitMetrics(StringBuilder out) {
+        header(out, "anime_visits_total", "counter", "Requests per matched route template");
+        for (VisitDto visit : visitService.getRouteVisits()) {
+            out.append("anime_visits_total{route=\"").append(escape(visit.getUrl()))
+                    .append("\"} ").append(visit.getVisitCount()).append('\n');
+        }
+        header(out, "anime_visit_events_dropped_total", "counter",
+                "Visit events dropped because the async buffer was full");
+        sample(out, "anime_visit_events_dropped_total", visitEventDispatcher.getDroppedEvents());
+        header(out, "anime_visit_events_pending", "gauge",
+                "Visit events waiting in the async buffer");
+        sample(out, "anime_visit_events_pending", visitEventDispatcher.getPendingEvents());
+    }
+
+    private void writeCacheMetrics(StringBuilder out) {
+        header(out, "anime_cache_hits_total", "counter", "Cache lookups that found a value");
+        sample(out, "anime_cache_hits_total", cacheService.getHitCount());
+        header(out, "anime_cache_misses_total", "counter", "Cache lookups without a value");
+        sample(out, "anime_cache_misses_total", cacheService.getMissCount());
+        header(out, "anime_cache_evictions_total", "counter",
+                "Cache entries removed by expiry or size limit");
+        sample(out, "anime_cache_evictions_total", cacheService.getEvictionCount());
+        header(out, "anime_cache_entries", "gauge", "Entries currently cached");
+        sample(out, "anime_cache_entries", cacheService.size());
+    }
+
+    private void writeLogJobMetrics(StringBuilder out) {
+        header(out, "anime_log_jobs", "gauge", "Log file jobs by status");
+        for (Map.Entry<String, Long> entry
+                : new TreeMap<>(asyncLogService.countJobsByStatus()).entrySet()) {
+            out.append("anime_log_jobs{status=\"").append(escape(entry.getKey()))
+                    .append("\"} ").append(entry.getValue()).append('\n');
+        }
+    }
+
+    private void writeLatencyMetrics(StringBuilder out) {
+        String name = "anime_http_request_duration_seconds";
+        header(out, name, "histogram", "Controller method execution time");
+        Map<LatencyKey, LatencyHistogram> sorted = new TreeMap<>(latencies);
+        double[] bounds = LatencyHistogram.BUCKET_BOUNDS_SECONDS;
+        for (Map.Entry<LatencyKey, LatencyHistogram> entry : sorted.entrySet()) {
+            String labels = "controller=\"" + escape(entry.getKey().controller())
+                    + "\",method=\"" + escape(entry.getKey().method()) + "\"";
+            long[] counts = entry.getValue().cumulativeCounts();
+            for (int i = 0; i < counts.length; i++) {
+                String le = i < bounds.length ? Double.toString(bounds[i]) : "+Inf";
+                out.append(name).append("_bucket{").append(labels).append(",le=\"").append(le)
+                        .append("\"} ").append(counts[i]).append('\n');
+            }
+            out.append(name).append("_sum{").append(labels).append("} ")
+                    .append(entry.getValue().sumSeconds()).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ")
+                    .append(counts[counts.length - 1]).append('\n');
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, long value) {
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private record LatencyKey(String controller, String method)
+            implements Comparable<LatencyKey> {
+        @Override
+        public int compareTo(LatencyKey other) {
+            int byController = controller.compareTo(other.controller);
+            return byController != 0 ? byController : method.compareTo(other.method);
+        }
+    }
+}
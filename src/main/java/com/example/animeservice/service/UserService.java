@@ -6,6 +6,7 @@ import com.example.animeservice.dto.CollectionWithAnimeDto;
 import com.example.animeservice.dto.UserDto;
 import com.example.animeservice.dto.UserWithCollectionsDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Collection;
 import com.example.animeservice.model.User;
 import com.example.animeservice.repository.CollectionRepository;
@@ -24,6 +25,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final CollectionRepository collectionRepository;
     private final CacheService cacheService;
+    private final CollectionMembershipIndex membershipIndex;
 
     public List<UserDto> getAllUsers() {
         return userRepository.findAll()
@@ -91,7 +93,9 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
+        List<Long> collectionIds = collectionRepository.findIdsByUserId(id);
         userRepository.deleteById(id);
+        membershipIndex.removeCollections(collectionIds);
 
         cacheService.invalidate("user_" + id);
         cacheService.invalidateByPrefix("user_search_");
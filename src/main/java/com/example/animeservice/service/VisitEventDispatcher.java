@@ -0,0 +1,135 @@
+package com.example.animeservice.service;
+
+import com.example.animeservice.stats.BoundedMpscQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class VisitEventDispatcher {
+
+    private static final int IDLE_SPINS = 256;
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final VisitService visitService;
+    private final boolean asyncEnabled;
+    private final BoundedMpscQueue<VisitEvent> buffer;
+    private final LongAdder droppedEvents = new LongAdder();
+    private final ConcurrentHashMap<String, Integer> routeIds = new ConcurrentHashMap<>();
+    private final List<String> routes = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private volatile Thread consumer;
+
+    public VisitEventDispatcher(VisitService visitService,
+                                @Value("${visits.async.enabled:true}") boolean asyncEnabled,
+                                @Value("${visits.async.buffer-size:65536}") int bufferSize) {
+        this.visitService = visitService;
+        this.asyncEnabled = asyncEnabled;
+        this.buffer = new BoundedMpscQueue<>(bufferSize);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consume, "visit-event-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public void publish(String route, String url, String clientId) {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        if (!asyncEnabled) {
+            visitService.recordVisit(route, url, clientId, epochSecond);
+        } else if (!buffer.offer(new VisitEvent(routeId(route),
+                VisitService.isTemplate(route) ? url : null, clientId, epochSecond))) {
+            droppedEvents.increment();
+        } else if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public int getPendingEvents() {
+        return buffer.size();
+    }
+
+    private int routeId(String route) {
+        Integer id = routeIds.get(route);
+        if (id == null) {
+            id = routeIds.computeIfAbsent(route, r -> {
+                synchronized (routes) {
+                    routes.add(r);
+                    return routes.size() - 1;
+                }
+            });
+        }
+        return id;
+    }
+
+    private void consume() {
+        int idle = 0;
+        while (running || buffer.size() > 0) {
+            VisitEvent event = buffer.poll();
+            if (event == null) {
+                if (++idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    idle();
+                    idle = 0;
+                }
+                continue;
+            }
+            idle = 0;
+            String route = routes.get(event.routeId());
+            try {
+                visitService.recordVisit(route, event.url(), event.clientId(),
+                        event.epochSecond());
+            } catch (RuntimeException e) {
+                log.warn("Failed to record visit for route {}", route, e);
+            }
+        }
+    }
+
+    private void idle() {
+        // Producers unpark the consumer only while this flag is set. Re-checking the buffer
+        // after setting it closes the race with an offer that saw the flag still clear.
+        consumerParked = true;
+        if (running && buffer.size() == 0) {
+            LockSupport.parkNanos(this, MAX_PARK_NANOS);
+        }
+        consumerParked = false;
+    }
+
+    /**
+     * A visit as queued for the consumer: the route template as an interned id, the URL only
+     * for templated routes, where it feeds the heavy hitters, and the client id for the unique
+     * visitor sketch.
+     */
+    private record VisitEvent(int routeId, String url, String clientId, long epochSecond) {
+    }
+}
@@ -1,41 +1,169 @@
 package com.example.animeservice.service;
 
+import com.example.animeservice.dto.HeavyHitterDto;
+import com.example.animeservice.dto.HeavyHittersResponse;
+import com.example.animeservice.dto.UniqueVisitorsResponse;
 import com.example.animeservice.dto.VisitDto;
+import com.example.animeservice.dto.VisitRateDto;
+import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.model.VisitCounter;
+import com.example.animeservice.repository.VisitCounterRepository;
 import com.example.animeservice.repository.VisitRepository;
+import com.example.animeservice.stats.HyperLogLog;
+import com.example.animeservice.stats.SlidingWindowCounter;
+import com.example.animeservice.stats.StripedTopK;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 public class VisitService {
     private final VisitRepository visitRepository;
+    private final VisitCounterRepository visitCounterRepository;
+    private final int uniqueRetentionDays;
+    private final boolean writeBehindEnabled;
 
-    public VisitService(VisitRepository visitRepository) {
+    public VisitService(VisitRepository visitRepository,
+                        VisitCounterRepository visitCounterRepository,
+                        @Value("${visits.unique.retention-days:7}") int uniqueRetentionDays,
+                        @Value("${visits.write-behind.enabled:true}") boolean writeBehindEnabled) {
         this.visitRepository = visitRepository;
+        this.visitCounterRepository = visitCounterRepository;
+        this.uniqueRetentionDays = uniqueRetentionDays;
+        this.writeBehindEnabled = writeBehindEnabled;
     }
 
     @PostConstruct
     public void init() {
         log.debug("Initializing Visit Cache");
         visitRepository.deleteAll();
+        if (writeBehindEnabled) {
+            Map<String, Long> persisted = visitCounterRepository.findAll().stream()
+                    .collect(Collectors.toMap(VisitCounter::getRoute, VisitCounter::getVisitCount));
+            visitRepository.loadRouteVisits(persisted);
+            log.info("Loaded persisted visit counts for {} routes", persisted.size());
+        }
     }
 
-    public synchronized void incrementVisit(String url) {
-        VisitDto visitDto = visitRepository.findByUrl(url)
-                .orElseGet(() -> {
-                    VisitDto newVisitDto = new VisitDto();
-                    newVisitDto.setUrl(url);
-                    newVisitDto.setVisitCount(0);
-                    return newVisitDto;
-                });
-        visitDto.setVisitCount(visitDto.getVisitCount() + 1);
-        visitRepository.save(visitDto);
+    @Scheduled(fixedDelayString = "${visits.write-behind.flush-interval-ms:10000}")
+    public synchronized void flushVisitCounts() {
+        if (!writeBehindEnabled) {
+            return;
+        }
+        Map<String, Long> deltas = visitRepository.findUnflushedRouteVisits();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            visitCounterRepository.addVisitCounts(deltas);
+            visitRepository.markRouteVisitsFlushed(deltas);
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush visit counts for {} routes, will retry", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushVisitCounts();
+    }
+
+    public void recordVisit(String route, String url, String clientId) {
+        recordVisit(route, url, clientId, System.currentTimeMillis() / 1000);
+    }
+
+    public void recordVisit(String route, String url, String clientId, long epochSecond) {
+        visitRepository.incrementRoute(route);
+        visitRepository.incrementRouteRate(route, epochSecond);
+        if (isTemplate(route)) {
+            visitRepository.incrementUrl(url);
+        }
+        if (clientId != null) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochSecond(epochSecond),
+                    ZoneId.systemDefault());
+            visitRepository.addVisitor(day, route, HyperLogLog.hash(clientId));
+        }
     }
 
     public long getVisitCount(String url) {
-        return visitRepository.findByUrl(url)
+        return visitRepository.findByRoute(url)
+                .or(() -> visitRepository.findByUrl(url))
                 .map(VisitDto::getVisitCount)
                 .orElse(0L);
     }
-}
\ No newline at end of file
+
+    public List<VisitDto> getRouteVisits() {
+        return visitRepository.findAllRoutes();
+    }
+
+    public HeavyHittersResponse getHeavyHitters(int limit, String prefix) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        StripedTopK urlVisits = visitRepository.getUrlVisits();
+        List<HeavyHitterDto> hitters = urlVisits
+                .top(limit, url -> prefix == null || url.startsWith(prefix))
+                .stream()
+                .map(entry -> new HeavyHitterDto(entry.key(), entry.count(), entry.error()))
+                .toList();
+        return new HeavyHittersResponse(urlVisits.getTotal(), urlVisits.getUntrackedBound(),
+                hitters);
+    }
+
+    public List<VisitRateDto> getVisitRates(String route) {
+        long now = System.currentTimeMillis() / 1000;
+        return visitRepository.findAllRouteRates().entrySet().stream()
+                .filter(entry -> route == null || entry.getKey().equals(route))
+                .map(entry -> toRateDto(entry.getKey(), entry.getValue(), now))
+                .sorted(Comparator.comparing(VisitRateDto::getRoute))
+                .toList();
+    }
+
+    public UniqueVisitorsResponse getUniqueVisitors(String route, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        HyperLogLog merged = new HyperLogLog();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            visitRepository.findVisitorSketch(day, route).ifPresent(merged::merge);
+        }
+        return new UniqueVisitorsResponse(route, from, to, merged.estimate(),
+                merged.standardError());
+    }
+
+    public String exportVisitorSketch(String route, LocalDate date) {
+        return visitRepository.findVisitorSketch(date, route)
+                .map(sketch -> Base64.getEncoder().encodeToString(sketch.toByteArray()))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "No visitor sketch for route " + route + " on " + date));
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictExpiredVisitorSketches() {
+        visitRepository.deleteVisitorSketchesBefore(
+                LocalDate.now().minusDays(uniqueRetentionDays - 1L));
+    }
+
+    private VisitRateDto toRateDto(String route, SlidingWindowCounter counter, long now) {
+        return new VisitRateDto(route,
+                counter.ratePerSecond(now, 60),
+                counter.ratePerSecond(now, 5 * 60),
+                counter.ratePerSecond(now, 15 * 60));
+    }
+
+    static boolean isTemplate(String route) {
+        return route.indexOf('{') >= 0;
+    }
+}
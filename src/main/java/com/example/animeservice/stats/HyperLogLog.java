@@ -0,0 +1,132 @@
+package com.example.animeservice.stats;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog distinct-count sketch with 2^precision one-byte registers
+ * (4 KB at the default precision of 12, about 1.6% standard error).
+ * Sketches with the same precision can be merged, e.g. across days or instances.
+ * Registers only grow and are raised with a compare-and-set, so concurrent adds need no lock
+ * and an add that does not raise its register is a single read.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final VarHandle REGISTERS = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        if (bytes.length < 1) {
+            throw new IllegalArgumentException("Empty sketch");
+        }
+        HyperLogLog sketch = new HyperLogLog(bytes[0]);
+        if (bytes.length != sketch.registers.length + 1) {
+            throw new IllegalArgumentException("Sketch size does not match its precision");
+        }
+        System.arraycopy(bytes, 1, sketch.registers, 0, sketch.registers.length);
+        return sketch;
+    }
+
+    public static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public void add(String value) {
+        addHash(hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        raise(index, (byte) (Long.numberOfLeadingZeros(remaining) + 1));
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different precision");
+        }
+        byte[] otherRegisters = other.snapshot();
+        for (int i = 0; i < registers.length; i++) {
+            raise(i, otherRegisters[i]);
+        }
+    }
+
+    public long estimate() {
+        byte[] snapshot = snapshot();
+        int m = snapshot.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : snapshot) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public byte[] toByteArray() {
+        byte[] snapshot = snapshot();
+        byte[] bytes = new byte[snapshot.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(snapshot, 0, bytes, 1, snapshot.length);
+        return bytes;
+    }
+
+    private void raise(int index, byte rank) {
+        byte current = (byte) REGISTERS.getAcquire(registers, index);
+        while (rank > current) {
+            byte witness = (byte) REGISTERS.compareAndExchange(registers, index, current, rank);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+    }
+
+    private byte[] snapshot() {
+        byte[] snapshot = new byte[registers.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = (byte) REGISTERS.getAcquire(registers, i);
+        }
+        return snapshot;
+    }
+}
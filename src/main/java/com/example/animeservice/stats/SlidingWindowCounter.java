@@ -0,0 +1,71 @@
+package com.example.animeservice.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free ring of per-second buckets covering the last {@code maxWindowSeconds} seconds.
+ * Each slot packs the bucket's epoch second (high 32 bits) and its count (low 32 bits) into
+ * one long, so a bucket is reused for a new second with a single compare-and-set.
+ */
+public class SlidingWindowCounter {
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final int maxWindowSeconds;
+    private final AtomicLongArray buckets;
+
+    public SlidingWindowCounter(int maxWindowSeconds) {
+        if (maxWindowSeconds <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.maxWindowSeconds = maxWindowSeconds;
+        this.buckets = new AtomicLongArray(maxWindowSeconds + 1);
+    }
+
+    public void increment(long epochSecond) {
+        int index = indexOf(epochSecond);
+        long second = epochSecond & COUNT_MASK;
+        while (true) {
+            long current = buckets.get(index);
+            long bucketSecond = current >>> 32;
+            long updated;
+            if (bucketSecond == second) {
+                updated = current + 1;
+            } else if (bucketSecond < second) {
+                updated = (second << 32) | 1;
+            } else {
+                return;
+            }
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sum of the last {@code seconds} complete seconds before {@code nowEpochSecond}.
+     */
+    public long sum(long nowEpochSecond, int seconds) {
+        if (seconds <= 0 || seconds > maxWindowSeconds) {
+            throw new IllegalArgumentException(
+                    "Window must be between 1 and " + maxWindowSeconds + " seconds");
+        }
+        long total = 0;
+        for (long epochSecond = nowEpochSecond - seconds; epochSecond < nowEpochSecond;
+                epochSecond++) {
+            long bucket = buckets.get(indexOf(epochSecond));
+            if (bucket >>> 32 == (epochSecond & COUNT_MASK)) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    public double ratePerSecond(long nowEpochSecond, int seconds) {
+        return (double) sum(nowEpochSecond, seconds) / seconds;
+    }
+
+    private int indexOf(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, (long) buckets.length());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.animeservice.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Space-Saving heavy-hitter sketch: keeps at most {@code capacity} counters and, when full,
+ * hands the smallest counter over to the new key. Reported counts never underestimate, and
+ * each one overestimates by at most its {@link Entry#error()}.
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final TreeSet<Counter> byCount = new TreeSet<>(Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.id));
+    private long nextId;
+    private long total;
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String key) {
+        total++;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count++;
+            byCount.add(counter);
+            return;
+        }
+        long error = 0;
+        if (counters.size() >= capacity) {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.key);
+            error = evicted.count;
+        }
+        counter = new Counter(key, error + 1, error, nextId++);
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    public synchronized long estimate(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.count : 0;
+    }
+
+    public synchronized boolean contains(String key) {
+        return counters.containsKey(key);
+    }
+
+    public synchronized List<Entry> top(int limit, Predicate<String> filter) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> iterator = byCount.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            Counter counter = iterator.next();
+            if (filter.test(counter.key)) {
+                result.add(new Entry(counter.key, counter.count, counter.error));
+            }
+        }
+        return result;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * Upper bound on the true count of any key that is not currently tracked.
+     */
+    public synchronized long getUntrackedBound() {
+        return counters.size() < capacity ? 0 : byCount.first().count;
+    }
+
+    public synchronized Snapshot snapshot() {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : byCount) {
+            entries.add(new Entry(counter.key, counter.count, counter.error));
+        }
+        return new Snapshot(entries, total, getUntrackedBound());
+    }
+
+    public synchronized void clear() {
+        counters.clear();
+        byCount.clear();
+        total = 0;
+    }
+
+    public record Entry(String key, long count, long error) {
+    }
+
+    public record Snapshot(List<Entry> entries, long total, long untrackedBound) {
+    }
+
+    private static final class Counter {
+        private final String key;
+        private final long error;
+        private final long id;
+        private long count;
+
+        private Counter(String key, long count, long error, long id) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.id = id;
+        }
+    }
+}
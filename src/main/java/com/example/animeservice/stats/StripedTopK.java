@@ -0,0 +1,120 @@
+package com.example.animeservice.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Space-Saving heavy hitters for many concurrent writers. Every thread offers into the stripe
+ * picked by its id, so writers rarely share a lock, even on a hot key. Reads merge the stripes:
+ * a key missing from a stripe is credited with that stripe's smallest counter as both count and
+ * error, so merged counts still never underestimate. With a single stripe it behaves as one
+ * {@link SpaceSavingTopK}.
+ */
+public class StripedTopK {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final SpaceSavingTopK[] stripes;
+    private final int mask;
+
+    public StripedTopK(int capacity, int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripes, MAX_STRIPES)) * 2 - 1);
+        this.stripes = new SpaceSavingTopK[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new SpaceSavingTopK(capacity);
+        }
+        this.mask = count - 1;
+    }
+
+    public void offer(String key) {
+        if (mask == 0) {
+            stripes[0].offer(key);
+            return;
+        }
+        long id = Thread.currentThread().getId();
+        stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask].offer(key);
+    }
+
+    public boolean contains(String key) {
+        for (SpaceSavingTopK stripe : stripes) {
+            if (stripe.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long estimate(String key) {
+        long estimate = 0;
+        for (SpaceSavingTopK stripe : stripes) {
+            long count = stripe.estimate(key);
+            estimate += count > 0 ? count : stripe.getUntrackedBound();
+        }
+        return estimate;
+    }
+
+    public List<SpaceSavingTopK.Entry> top(int limit, Predicate<String> filter) {
+        List<SpaceSavingTopK.Snapshot> snapshots = snapshots();
+        Map<String, long[]> merged = new HashMap<>();
+        long untracked = 0;
+        for (SpaceSavingTopK.Snapshot snapshot : snapshots) {
+            untracked += snapshot.untrackedBound();
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            long bound = snapshots.get(i).untrackedBound();
+            for (SpaceSavingTopK.Entry entry : snapshots.get(i).entries()) {
+                if (filter.test(entry.key())) {
+                    long[] totals = merged.computeIfAbsent(entry.key(), key -> new long[2]);
+                    totals[0] += entry.count() - bound;
+                    totals[1] += entry.error() - bound;
+                }
+            }
+        }
+        List<SpaceSavingTopK.Entry> result = new ArrayList<>(merged.size());
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            long[] totals = entry.getValue();
+            result.add(new SpaceSavingTopK.Entry(entry.getKey(), totals[0] + untracked,
+                    totals[1] + untracked));
+        }
+        result.sort(Comparator.comparingLong(SpaceSavingTopK.Entry::count).reversed()
+                .thenComparing(SpaceSavingTopK.Entry::key));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (SpaceSavingTopK stripe : stripes) {
+            total += stripe.getTotal();
+        }
+        return total;
+    }
+
+    /**
+     * Upper bound on the true count of any key that no stripe tracks.
+     */
+    public long getUntrackedBound() {
+        long bound = 0;
+        for (SpaceSavingTopK stripe : stripes) {
+            bound += stripe.getUntrackedBound();
+        }
+        return bound;
+    }
+
+    public void clear() {
+        for (SpaceSavingTopK stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private List<SpaceSavingTopK.Snapshot> snapshots() {
+        List<SpaceSavingTopK.Snapshot> snapshots = new ArrayList<>(stripes.length);
+        for (SpaceSavingTopK stripe : stripes) {
+            snapshots.add(stripe.snapshot());
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.animeservice.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.animeservice.controller.AnimeController;
+import com.example.animeservice.service.MetricsService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(joinPoint.getArgs()).thenReturn(new Object[] {1L});
+        lenient().when(signature.getDeclaringTypeName())
+                .thenReturn(AnimeController.class.getName());
+        lenient().doReturn(AnimeController.class).when(signature).getDeclaringType();
+        lenient().when(signature.getName()).thenReturn("getAnimeById");
+        lenient().when(signature.toShortString()).thenReturn("AnimeController.getAnimeById(..)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    private List<ILoggingEvent> events(Level level) {
+        return appender.list.stream().filter(event -> event.getLevel() == level).toList();
+    }
+
+    @Test
+    void logAround_SampleRateZero_LogsNoInfoAndRecordsLatency() throws Throwable {
+        LoggingAspect aspect =
+                new LoggingAspect(metricsService, RequestLoggingMode.SUMMARY, 0.0, 256, 60_000);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        assertEquals("result", aspect.logAround(joinPoint));
+
+        assertTrue(appender.list.isEmpty());
+        verify(joinPoint, never()).getArgs();
+        verify(metricsService).recordLatency(eq("AnimeController"), eq("getAnimeById"), anyLong());
+    }
+
+    @Test
+    void logAround_SampledCall_LogsEntryAndExitAndRecordsLatency() throws Throwable {
+        LoggingAspect aspect =
+                new LoggingAspect(metricsService, RequestLoggingMode.SUMMARY, 1.0, 256, 60_000);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        aspect.logAround(joinPoint);
+
+        assertEquals(2, events(Level.INFO).size());
+        assertTrue(events(Level.WARN).isEmpty());
+        verify(metricsService).recordLatency(eq("AnimeController"), eq("getAnimeById"), anyLong());
+    }
+
+    @Test
+    void logAround_SlowCallInOffMode_LogsWarnOnly() throws Throwable {
+        LoggingAspect aspect =
+                new LoggingAspect(metricsService, RequestLoggingMode.OFF, 1.0, 256, 0);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        aspect.logAround(joinPoint);
+
+        assertTrue(events(Level.INFO).isEmpty());
+        List<ILoggingEvent> warnings = events(Level.WARN);
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).getFormattedMessage()
+                .startsWith("Slow method: AnimeController.getAnimeById(..)"));
+        verify(metricsService).recordLatency(eq("AnimeController"), eq("getAnimeById"), anyLong());
+    }
+
+    @Test
+    void logAround_ControllerThrows_StillRecordsLatency() throws Throwable {
+        LoggingAspect aspect =
+                new LoggingAspect(metricsService, RequestLoggingMode.OFF, 1.0, 256, 60_000);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.logAround(joinPoint));
+
+        assertTrue(appender.list.isEmpty());
+        verify(metricsService).recordLatency(eq("AnimeController"), eq("getAnimeById"), anyLong());
+    }
+}
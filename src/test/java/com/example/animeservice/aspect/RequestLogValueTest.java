@@ -0,0 +1,45 @@
+package com.example.animeservice.aspect;
+
+import com.example.animeservice.dto.UserWithCollectionsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogValueTest {
+
+    @Test
+    void summary_ReducesCollectionsAndObjectsToShape() {
+        List<UserWithCollectionsDto> users = Collections.nCopies(10_000,
+                new UserWithCollectionsDto());
+
+        assertEquals("ResponseEntity[status=200, body=CopiesList[size=10000]]",
+                RequestLogValue.of(ResponseEntity.ok(users), RequestLoggingMode.SUMMARY, 64)
+                        .toString());
+        assertEquals("[42, UserWithCollectionsDto, HashMap[size=0], byte[3], null]",
+                RequestLogValue.ofArguments(new Object[] {42L, new UserWithCollectionsDto(),
+                        new HashMap<>(), new byte[3], null},
+                        RequestLoggingMode.SUMMARY, 64).toString());
+    }
+
+    @Test
+    void longStrings_AreCutAtLengthCap() {
+        String value = RequestLogValue.of("x".repeat(100), RequestLoggingMode.SUMMARY, 8)
+                .toString();
+
+        assertEquals("xxxxxxxx...(length=100)", value);
+    }
+
+    @Test
+    void full_UsesToStringWithinLengthCap() {
+        assertEquals("{a=1}", RequestLogValue.of(Map.of("a", 1), RequestLoggingMode.FULL, 64)
+                .toString());
+        assertEquals("[1, 2...(length=9)", RequestLogValue.of(List.of(1, 2, 3),
+                RequestLoggingMode.FULL, 5).toString());
+    }
+}
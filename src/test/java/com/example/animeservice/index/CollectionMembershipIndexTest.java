@@ -0,0 +1,75 @@
+package com.example.animeservice.index;
+
+import com.example.animeservice.repository.CollectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CollectionMembershipIndexTest {
+
+    @Mock
+    private CollectionRepository collectionRepository;
+
+    @InjectMocks
+    private CollectionMembershipIndex membershipIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(collectionRepository.streamAllMemberships()).thenReturn(Stream.of(
+                new Object[]{1L, 10L},
+                new Object[]{1L, 20L},
+                new Object[]{2L, 10L},
+                new Object[]{3L, 20L}));
+        membershipIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_LoadsMemberships() {
+        assertTrue(membershipIndex.isReady());
+        assertTrue(membershipIndex.contains(1L, 20L));
+        assertFalse(membershipIndex.contains(2L, 20L));
+        assertEquals(List.of(1L, 2L), membershipIndex.findCollectionIdsContaining(10L));
+    }
+
+    @Test
+    void findCollectionIdsContainingAll_ReturnsIntersection() {
+        assertEquals(List.of(1L), membershipIndex.findCollectionIdsContainingAll(List.of(10L, 20L)));
+        assertTrue(membershipIndex.findCollectionIdsContainingAll(List.of(10L, 99L)).isEmpty());
+    }
+
+    @Test
+    void replaceCollection_UpdatesBothDirections() {
+        membershipIndex.replaceCollection(1L, List.of(30L));
+
+        assertFalse(membershipIndex.contains(1L, 10L));
+        assertEquals(List.of(2L), membershipIndex.findCollectionIdsContaining(10L));
+        assertEquals(List.of(1L), membershipIndex.findCollectionIdsContaining(30L));
+    }
+
+    @Test
+    void removeAnimes_DropsAnimeFromAllCollections() {
+        membershipIndex.removeAnimes(List.of(10L));
+
+        assertTrue(membershipIndex.findCollectionIdsContaining(10L).isEmpty());
+        assertFalse(membershipIndex.contains(2L, 10L));
+        assertTrue(membershipIndex.contains(1L, 20L));
+    }
+
+    @Test
+    void removeCollections_DropsCollectionFromAllAnime() {
+        membershipIndex.removeCollections(List.of(1L, 3L));
+
+        assertTrue(membershipIndex.findCollectionIdsContaining(20L).isEmpty());
+        assertEquals(List.of(2L), membershipIndex.findCollectionIdsContaining(10L));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.animeservice.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLogEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.example.animeservice.Foo");
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    private String encode(LoggingEvent event) {
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void encode_WritesSingleLineWithTimestampFirst() {
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.WARN,
+                "Slow \"{}\"\nrequest", null, new Object[] {"GET"});
+
+        String line = encode(event);
+
+        assertTrue(line.startsWith(LogTimestamps.JSON_PREFIX));
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.split("\n").length);
+        assertNotNull(LogTimestamps.timestamp(line.strip()));
+        LogEntry entry = LogEntry.parse(line.strip());
+        assertEquals("WARN", entry.level());
+        assertEquals("com.example.animeservice.Foo", entry.logger());
+        assertEquals("Slow \"GET\"\nrequest", entry.message());
+    }
+
+    @Test
+    void encode_Exception_IsEmbeddedAsField() {
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.ERROR, "Failed",
+                new IllegalStateException("boom"), null);
+
+        LogEntry entry = LogEntry.parse(encode(event).strip());
+
+        assertTrue(entry.message().startsWith("Failed\njava.lang.IllegalStateException: boom"));
+    }
+}
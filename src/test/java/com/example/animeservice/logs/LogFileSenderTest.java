@@ -0,0 +1,161 @@
+package com.example.animeservice.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileSenderTest {
+
+    private static final String CONTENT = "0123456789abcdef";
+
+    @TempDir
+    Path logDir;
+
+    private final LogFileSender sender = new LogFileSender();
+    private File logFile;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = logDir.resolve("app-2024-05-20.log");
+        Files.writeString(file, CONTENT);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_716_200_000_000L));
+        logFile = file.toFile();
+        request = new MockHttpServletRequest("GET", "/api/logs/download");
+        response = new MockHttpServletResponse();
+    }
+
+    private String etag() {
+        return LogFileSender.buildEtag(CONTENT.length(), 1_716_200_000_000L, false);
+    }
+
+    private void send() throws IOException {
+        sender.send(logFile, null, "log_2024-05-20.log", request, response);
+    }
+
+    @Test
+    void send_NoRange_ReturnsWholeFileWithValidators() throws IOException {
+        send();
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(etag(), response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+    }
+
+    @Test
+    void send_Range_ReturnsPartialContent() throws IOException {
+        request.addHeader("Range", "bytes=10-");
+
+        send();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abcdef", response.getContentAsString());
+        assertEquals("bytes 10-15/16", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void send_IfRangeWithStaleEtag_ReturnsWholeFile() throws IOException {
+        request.addHeader("Range", "bytes=10-");
+        request.addHeader("If-Range", "\"stale\"");
+
+        send();
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void send_IfRangeWithCurrentEtag_ReturnsPartialContent() throws IOException {
+        request.addHeader("Range", "bytes=-4");
+        request.addHeader("If-Range", etag());
+
+        send();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("cdef", response.getContentAsString());
+    }
+
+    @Test
+    void send_UnsatisfiableRange_Returns416() throws IOException {
+        request.addHeader("Range", "bytes=100-");
+
+        send();
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */16", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void send_IfNoneMatchCurrentEtag_ReturnsNotModified() throws IOException {
+        request.addHeader("If-None-Match", etag());
+
+        send();
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_AcceptsGzipWithFreshVariant_ServesEncodedVariant() throws IOException {
+        Path gzip = logDir.resolve("app-2024-05-20.log.gz");
+        Files.write(gzip, new byte[] {1, 2, 3});
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        sender.send(logFile, gzip.toFile(), "log_2024-05-20.log", request, response);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertArrayEquals(new byte[] {1, 2, 3}, response.getContentAsByteArray());
+        assertTrue(response.getHeader("ETag").endsWith("-gz\""));
+    }
+
+    @Test
+    void send_GzipRefusedWithZeroQuality_ServesPlainFile() throws IOException {
+        Path gzip = logDir.resolve("app-2024-05-20.log.gz");
+        Files.write(gzip, new byte[] {1, 2, 3});
+        request.addHeader("Accept-Encoding", "gzip;q=0, *");
+
+        sender.send(logFile, gzip.toFile(), "log_2024-05-20.log", request, response);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void acceptsGzip_ParsesCodingsAndQualities() {
+        assertTrue(LogFileSender.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(LogFileSender.acceptsGzip("br, *;q=0.1"));
+        assertFalse(LogFileSender.acceptsGzip("gzip;q=0.0, *"));
+        assertFalse(LogFileSender.acceptsGzip("*;q=0"));
+        assertFalse(LogFileSender.acceptsGzip("identity, deflate"));
+        assertFalse(LogFileSender.acceptsGzip(null));
+    }
+
+    @Test
+    void send_SendfileSupported_DelegatesBodyToContainer() throws IOException {
+        request.setAttribute(LogFileSender.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=2-5");
+
+        send();
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(logFile.getCanonicalPath(),
+                request.getAttribute(LogFileSender.SENDFILE_FILENAME));
+        assertEquals(2L, request.getAttribute(LogFileSender.SENDFILE_START));
+        assertEquals(6L, request.getAttribute(LogFileSender.SENDFILE_END));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.animeservice.logs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogJobStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @TempDir
+    Path logDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private Path storeFile;
+
+    @BeforeEach
+    void setUp() {
+        storeFile = logDir.resolve(".log-jobs.json");
+    }
+
+    private LogJobStore createStore(int maxEntries) {
+        LogJobStore store = new LogJobStore(objectMapper, storeFile.toString(), maxEntries, 60);
+        store.load();
+        return store;
+    }
+
+    private LogJob finishedJob(String id, LocalDate date, Instant finishedAt) {
+        return new LogJob(id, date, finishedAt, LogJobStatus.COMPLETED, 10, 10, null,
+                "app-" + date + ".0.log:10;", finishedAt);
+    }
+
+    @Test
+    void flush_PersistsJobsAcrossRestart() {
+        LogJobStore store = createStore(10);
+        store.put(finishedJob("done", DAY, Instant.now()));
+        LogJob running = new LogJob("running", DAY.plusDays(1));
+        running.start();
+        store.put(running);
+        store.flush();
+
+        LogJobStore restored = createStore(10);
+
+        LogJob done = restored.get("done");
+        assertEquals(LogJobStatus.COMPLETED, done.getStatus());
+        assertEquals("app-2024-05-20.0.log:10;", done.getSourceFingerprint());
+        assertSame(done, restored.findLatestByDate(DAY));
+        assertEquals(LogJobStatus.FAILED, restored.get("running").getStatus());
+        assertEquals(LogJobStore.INTERRUPTED_ERROR, restored.get("running").getError());
+    }
+
+    @Test
+    void findLatestCompletedByDate_RefreshInFlight_ReturnsPreviousExtract() {
+        LogJobStore store = createStore(10);
+        LogJob done = finishedJob("done", DAY, Instant.now());
+        store.put(done);
+        store.put(new LogJob("refresh", DAY));
+
+        assertEquals("refresh", store.findLatestByDate(DAY).getId());
+        assertSame(done, store.findLatestCompletedByDate(DAY));
+        assertNull(store.findLatestCompletedByDate(DAY.plusDays(1)));
+    }
+
+    @Test
+    void flush_NothingChanged_DoesNotWriteFile() {
+        createStore(10).flush();
+
+        assertFalse(Files.exists(storeFile));
+    }
+
+    @Test
+    void put_OverCapacity_EvictsOldestFinishedJobsOnly() {
+        LogJobStore store = createStore(2);
+        LogJob active = new LogJob("active", DAY);
+        store.put(active);
+        store.put(finishedJob("old", DAY.minusDays(2), Instant.now().minus(2, ChronoUnit.HOURS)));
+        store.put(finishedJob("new", DAY.minusDays(1), Instant.now()));
+
+        assertNotNull(store.get("active"));
+        assertNull(store.get("old"));
+        assertNotNull(store.get("new"));
+        assertNull(store.findLatestByDate(DAY.minusDays(2)));
+    }
+
+    @Test
+    void evictExpired_RemovesFinishedJobsPastTtl() {
+        LogJobStore store = createStore(10);
+        store.put(finishedJob("expired", DAY, Instant.now().minus(2, ChronoUnit.HOURS)));
+        store.put(new LogJob("queued", DAY.plusDays(1)));
+
+        store.evictExpired();
+
+        assertNull(store.get("expired"));
+        assertNotNull(store.get("queued"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.animeservice.logs;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @Test
+    void setFuture_JobCancelledBeforeFutureAttached_CancelsFuture() {
+        LogJob job = new LogJob("job", DAY);
+        job.start();
+        assertTrue(job.cancel());
+        FutureTask<Void> task = new FutureTask<>(() -> null);
+
+        job.setFuture(task);
+
+        assertTrue(task.isCancelled());
+        assertEquals(LogJobStatus.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void cancel_FutureAttached_CancelsFuture() {
+        LogJob job = new LogJob("job", DAY);
+        FutureTask<Void> task = new FutureTask<>(() -> null);
+        job.setFuture(task);
+
+        assertTrue(job.cancel());
+
+        assertTrue(task.isCancelled());
+        assertFalse(job.complete());
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.animeservice.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogOffsetIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @TempDir
+    Path logDir;
+
+    private Path logFile;
+    private LogOffsetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        logFile = logDir.resolve("app.log");
+        index = new LogOffsetIndex(logDir.toString());
+    }
+
+    private void append(String... lines) throws IOException {
+        Files.writeString(logFile, String.join("\n", lines) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private String read(LogRange range) throws IOException {
+        try (FileChannel channel = FileChannel.open(range.file())) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) range.length());
+            channel.read(buffer, range.start());
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String read(List<LogRange> ranges) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (LogRange range : ranges) {
+            content.append(read(range));
+        }
+        return content.toString();
+    }
+
+    private static LogRange single(List<LogRange> ranges) {
+        assertEquals(1, ranges.size());
+        return ranges.get(0);
+    }
+
+    @Test
+    void findRange_ReturnsBytesOfRequestedDayIncludingContinuationLines() throws IOException {
+        append("2024-05-19 23:59:59 INFO  a - before",
+                "2024-05-20 00:00:01 ERROR a - failed",
+                "java.lang.IllegalStateException: boom",
+                "2024-05-20 13:00:00 INFO  a - later",
+                "2024-05-21 00:00:00 INFO  a - after");
+
+        List<LogRange> ranges = index.findRange(DAY);
+
+        assertEquals(1, ranges.size());
+        assertEquals("2024-05-20 00:00:01 ERROR a - failed\n"
+                + "java.lang.IllegalStateException: boom\n"
+                + "2024-05-20 13:00:00 INFO  a - later\n", read(ranges));
+    }
+
+    @Test
+    void findRange_DayNotInLog_ReturnsEmpty() throws IOException {
+        append("2024-05-19 10:00:00 INFO  a - before",
+                "2024-05-21 10:00:00 INFO  a - after");
+
+        assertTrue(index.findRange(DAY).isEmpty());
+    }
+
+    @Test
+    void findRange_GrowingLog_IndexesOnlyAppendedBytes() throws IOException {
+        append("2024-05-20 10:00:00 INFO  a - first");
+        long indexed = single(index.findRange(DAY)).end();
+        long scanned = index.getScannedBytes();
+        append("2024-05-20 11:00:00 INFO  a - second");
+
+        LogRange range = single(index.findRange(DAY));
+
+        assertEquals(0, range.start());
+        assertEquals(Files.size(logFile), range.end());
+        assertTrue(range.end() > indexed);
+        assertEquals(indexed, scanned);
+        assertEquals(Files.size(logFile) - indexed, index.getScannedBytes() - scanned);
+    }
+
+    @Test
+    void findRange_PartialLastLine_IsNotIndexedUntilComplete() throws IOException {
+        append("2024-05-20 10:00:00 INFO  a - first");
+        long completeBytes = Files.size(logFile);
+        Files.writeString(logFile, "2024-05-20 11:00", StandardOpenOption.APPEND);
+
+        assertEquals(completeBytes, single(index.findRange(DAY)).end());
+    }
+
+    @Test
+    void findRange_RolledOverLog_RebuildsIndex() throws IOException {
+        append("2024-05-19 10:00:00 INFO  a - a fairly long line from the previous day",
+                "2024-05-19 11:00:00 INFO  a - another line from the previous day");
+        index.findRange(DAY);
+        Files.delete(logFile);
+        append("2024-05-20 09:00:00 INFO  a - new file");
+
+        LogRange range = single(index.findRange(DAY));
+
+        assertEquals("2024-05-20 09:00:00 INFO  a - new file\n", read(range));
+    }
+
+    @Test
+    void findRange_RenamedAndLargerNewLog_RebuildsIndex() throws IOException {
+        append("2024-05-19 10:00:00 INFO  a - previous day");
+        index.findRange(DAY);
+        Files.move(logFile, logDir.resolve("app.2024-05-19.0.log"));
+        append("2024-05-20 09:00:00 INFO  a - a new file that is longer than the old one");
+
+        LogRange range = single(index.findRange(DAY));
+
+        assertEquals(0, range.start());
+        assertEquals(Files.size(logFile), range.end());
+    }
+
+    @Test
+    void findRange_LineLongerThanReadBuffer_IsIndexed() throws IOException {
+        append("2024-05-19 10:00:00 INFO  a - " + "x".repeat(70_000),
+                "2024-05-20 10:00:00 INFO  a - " + "y".repeat(70_000));
+
+        LogRange range = single(index.findRange(DAY));
+
+        assertTrue(read(range).startsWith("2024-05-20 10:00:00"));
+        assertEquals(Files.size(logFile), range.end());
+    }
+
+    @Test
+    void findRange_HourWindow_CoversOnlyTouchedHours() throws IOException {
+        append("2024-05-20 09:59:59 INFO  a - nine",
+                "2024-05-20 10:15:00 INFO  a - ten",
+                "2024-05-20 11:30:00 INFO  a - eleven",
+                "2024-05-20 12:00:00 INFO  a - twelve");
+
+        LogRange range = single(index.findRange(LocalDateTime.of(2024, 5, 20, 10, 30),
+                LocalDateTime.of(2024, 5, 20, 11, 10)));
+
+        assertEquals("2024-05-20 10:15:00 INFO  a - ten\n"
+                + "2024-05-20 11:30:00 INFO  a - eleven\n", read(range));
+    }
+
+    @Test
+    void findRange_JsonRecords_AreIndexedByTimestampField() throws IOException {
+        append("{\"ts\":\"2024-05-19 23:00:00.000\",\"msg\":\"before\"}",
+                "{\"ts\":\"2024-05-20 08:00:00.000\",\"msg\":\"during\"}",
+                "{\"ts\":\"2024-05-21 00:00:00.000\",\"msg\":\"after\"}");
+
+        assertEquals("{\"ts\":\"2024-05-20 08:00:00.000\",\"msg\":\"during\"}\n",
+                read(single(index.findRange(DAY))));
+    }
+
+    @Test
+    void findRange_OutOfOrderLinesAroundMidnight_AreAttributedToTheirOwnDay() throws IOException {
+        append("2024-05-19 23:59:59 INFO  a - before",
+                "2024-05-20 00:00:00 INFO  a - first",
+                "2024-05-19 23:59:59 ERROR a - late from the previous day",
+                "java.lang.IllegalStateException: boom",
+                "2024-05-20 00:00:01 INFO  a - second",
+                "2024-05-20 12:00:00 INFO  a - noon",
+                "2024-05-21 00:00:00 INFO  a - next day",
+                "2024-05-20 23:59:59 INFO  a - late",
+                "2024-05-21 00:00:01 INFO  a - after");
+
+        List<LogRange> ranges = index.findRange(DAY);
+
+        assertEquals("2024-05-20 00:00:00 INFO  a - first\n"
+                + "2024-05-20 00:00:01 INFO  a - second\n"
+                + "2024-05-20 12:00:00 INFO  a - noon\n"
+                + "2024-05-20 23:59:59 INFO  a - late\n", read(ranges));
+        assertEquals("2024-05-19 23:59:59 INFO  a - before\n"
+                + "2024-05-19 23:59:59 ERROR a - late from the previous day\n"
+                + "java.lang.IllegalStateException: boom\n",
+                read(index.findRange(DAY.minusDays(1))));
+    }
+
+    @Test
+    void findRange_OnlyStragglersOfDay_AreFound() throws IOException {
+        append("2024-05-19 10:00:00 INFO  a - before",
+                "2024-05-21 00:00:00 INFO  a - next day",
+                "2024-05-20 23:59:59 INFO  a - late");
+
+        assertEquals("2024-05-20 23:59:59 INFO  a - late\n", read(index.findRange(DAY)));
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.animeservice.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSearcherTest {
+
+    @TempDir
+    Path logDir;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private LogSearcher createSearcher(long maxScanBytes) {
+        LogOffsetIndex index = new LogOffsetIndex(logDir.toString());
+        LogSegmentExtractor extractor = new LogSegmentExtractor(logDir.toString(), index,
+                new MappedLogScanner(2, 1024, 1024), executor);
+        return new LogSearcher(extractor, index, executor, 100, maxScanBytes, 5000, 31);
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(logDir.resolve(name), List.of(lines));
+    }
+
+    private void writeGzip(String name, String... lines) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(logDir.resolve(name)))) {
+            out.write((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private List<LogEntry> search(LogSearcher searcher, LogSearchQuery query,
+                                  List<LogSearchResult> summary) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        summary.add(searcher.search(query, entries::add));
+        return entries;
+    }
+
+    @Test
+    void search_FiltersByRangeLevelAndTextAcrossSegmentsInOrder() throws IOException {
+        write("app-2024-05-20.0.log",
+                "2024-05-20 00:00:01 ERROR a.Foo - request r-42 failed",
+                "java.lang.IllegalStateException: boom",
+                "2024-05-20 01:00:00 INFO  a.Foo - request r-42 ok");
+        writeGzip("app-2024-05-20.1.log.gz",
+                "2024-05-20 08:00:00 WARN  a.Bar - request r-42 slow");
+        write("app.log",
+                "2024-05-20 22:00:00 ERROR a.Foo - request r-7 failed",
+                "2024-05-20 23:00:00 ERROR a.Foo - request r-42 failed again",
+                "2024-05-21 00:00:01 ERROR a.Foo - request r-42 tomorrow");
+        LogSearcher searcher = createSearcher(1 << 20);
+        List<LogSearchResult> summary = new ArrayList<>();
+
+        List<LogEntry> entries = search(searcher,
+                searcher.createQuery("2024-05-20", "2024-05-21", "warn", null, "r-42", false,
+                        null), summary);
+
+        assertEquals(List.of("2024-05-20 00:00:01", "2024-05-20 08:00:00", "2024-05-20 23:00:00"),
+                entries.stream().map(LogEntry::timestamp).toList());
+        assertEquals("request r-42 failed\njava.lang.IllegalStateException: boom",
+                entries.get(0).message());
+        assertEquals("a.Bar", entries.get(1).logger());
+        assertEquals(3, summary.get(0).matches());
+        assertNull(summary.get(0).truncatedBy());
+    }
+
+    @Test
+    void search_RegexMatchesContinuationLines() throws IOException {
+        write("app.log",
+                "2024-05-20 10:00:00 ERROR a - failed",
+                "java.lang.NullPointerException: null",
+                "2024-05-20 10:00:01 ERROR a - failed",
+                "java.lang.IllegalStateException: boom");
+        LogSearcher searcher = createSearcher(1 << 20);
+
+        List<LogEntry> entries = search(searcher, searcher.createQuery("2024-05-20T10:00:00",
+                "2024-05-20T11:00:00", null, null, "Null\\w+Exception", true, null),
+                new ArrayList<>());
+
+        assertEquals(1, entries.size());
+        assertEquals("2024-05-20 10:00:00", entries.get(0).timestamp());
+    }
+
+    @Test
+    void search_LimitReached_ReportsTruncation() throws IOException {
+        write("app.log",
+                "2024-05-20 10:00:00 INFO  a - one",
+                "2024-05-20 10:00:01 INFO  a - two",
+                "2024-05-20 10:00:02 INFO  a - three");
+        LogSearcher searcher = createSearcher(1 << 20);
+        List<LogSearchResult> summary = new ArrayList<>();
+
+        List<LogEntry> entries = search(searcher,
+                searcher.createQuery("2024-05-20", "2024-05-21", null, null, null, false, 2),
+                summary);
+
+        assertEquals(2, entries.size());
+        assertEquals(LogSearcher.TRUNCATED_BY_LIMIT, summary.get(0).truncatedBy());
+    }
+
+    @Test
+    void search_ByteBudgetExceeded_StopsScanning() throws IOException {
+        write("app.log",
+                "2024-05-20 10:00:00 INFO  a - one",
+                "2024-05-20 10:00:01 INFO  a - two",
+                "2024-05-20 10:00:02 INFO  a - three");
+        LogSearcher searcher = createSearcher(80);
+        List<LogSearchResult> summary = new ArrayList<>();
+
+        List<LogEntry> entries = search(searcher,
+                searcher.createQuery("2024-05-20", "2024-05-21", null, null, null, false, null),
+                summary);
+
+        assertEquals(List.of("one", "two"), entries.stream().map(LogEntry::message).toList());
+        assertEquals(LogSearcher.TRUNCATED_BY_BYTES, summary.get(0).truncatedBy());
+    }
+
+    @Test
+    void search_MultiByteText_CountsEncodedBytes() throws IOException {
+        write("app.log",
+                "2024-05-20 10:00:00 INFO  a - раз",
+                "2024-05-20 10:00:01 INFO  a - два",
+                "2024-05-20 10:00:02 INFO  a - три");
+        LogSearcher searcher = createSearcher(70);
+        List<LogSearchResult> summary = new ArrayList<>();
+
+        List<LogEntry> entries = search(searcher,
+                searcher.createQuery("2024-05-20", "2024-05-21", null, null, null, false, null),
+                summary);
+
+        assertEquals(List.of("раз"), entries.stream().map(LogEntry::message).toList());
+        assertEquals(74, summary.get(0).scannedBytes());
+    }
+
+    @Test
+    void search_ExecutorSaturated_RejectsWithoutScanningOnCaller() throws Exception {
+        write("app.log", "2024-05-20 10:00:00 INFO  a - one");
+        ThreadPoolTaskExecutor saturated = new ThreadPoolTaskExecutor();
+        saturated.setCorePoolSize(1);
+        saturated.setMaxPoolSize(1);
+        saturated.setQueueCapacity(0);
+        saturated.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturated.submit(() -> {
+                release.await();
+                return null;
+            });
+            LogOffsetIndex index = new LogOffsetIndex(logDir.toString());
+            LogSearcher searcher = new LogSearcher(new LogSegmentExtractor(logDir.toString(),
+                    index, new MappedLogScanner(2, 1024, 1024), executor), index, saturated,
+                    100, 1 << 20, 5000, 31);
+            LogSearchQuery query =
+                    searcher.createQuery("2024-05-20", "2024-05-21", null, null, null, false, null);
+
+            assertThrows(RejectedExecutionException.class,
+                    () -> searcher.search(query, entry -> { }));
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void search_JsonRecords_FiltersByLoggerAndMatchesEmbeddedException() throws IOException {
+        write("app.log",
+                "2024-05-20 09:00:00 INFO  c.e.service.Old - text record before the switch",
+                "{\"ts\":\"2024-05-20 10:00:00.125\",\"level\":\"ERROR\","
+                        + "\"logger\":\"c.e.service.Foo\",\"thread\":\"main\","
+                        + "\"msg\":\"failed\",\"exception\":\"java.lang.NullPointerException\"}",
+                "{\"ts\":\"2024-05-20 10:00:01.000\",\"level\":\"ERROR\","
+                        + "\"logger\":\"c.e.web.Bar\",\"msg\":\"NullPointerException\"}");
+        LogSearcher searcher = createSearcher(1 << 20);
+
+        List<LogEntry> entries = search(searcher, searcher.createQuery("2024-05-20",
+                "2024-05-21", null, "c.e.service", "NullPointer", false, null),
+                new ArrayList<>());
+
+        assertEquals(List.of(new LogEntry("2024-05-20 10:00:00.125", "ERROR", "c.e.service.Foo",
+                "failed\njava.lang.NullPointerException")), entries);
+    }
+
+    @Test
+    void createQuery_InvalidArguments_ThrowIllegalArgumentException() {
+        LogSearcher searcher = createSearcher(1 << 20);
+
+        assertThrows(IllegalArgumentException.class, () -> searcher.createQuery(
+                "2024-05-21", "2024-05-20", null, null, null, false, null));
+        assertThrows(IllegalArgumentException.class, () -> searcher.createQuery(
+                "2024-01-01", "2024-05-20", null, null, null, false, null));
+        assertThrows(IllegalArgumentException.class, () -> searcher.createQuery(
+                "2024-05-20", null, "LOUD", null, null, false, null));
+        assertThrows(IllegalArgumentException.class, () -> searcher.createQuery(
+                "2024-05-20", null, null, null, "(", true, null));
+    }
+
+    @Test
+    void parse_HeaderLine_SplitsFields() {
+        LogEntry entry = LogEntry.parse("2024-05-20 10:00:00 WARN  c.e.Foo - slow - 300ms");
+
+        assertEquals(new LogEntry("2024-05-20 10:00:00", "WARN", "c.e.Foo", "slow - 300ms"),
+                entry);
+        assertNull(LogEntry.parse("\tat c.e.Foo.bar(Foo.java:10)"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.animeservice.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSegmentExtractorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @TempDir
+    Path logDir;
+
+    private ThreadPoolTaskExecutor executor;
+    private LogSegmentExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        extractor = new LogSegmentExtractor(logDir.toString(),
+                new LogOffsetIndex(logDir.toString()),
+                new MappedLogScanner(2, 1024, 1024), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(logDir.resolve(name), List.of(lines));
+    }
+
+    private void writeGzip(String name, String... lines) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(logDir.resolve(name)))) {
+            out.write((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String json(String timestamp, Level level, String message, Throwable error) {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        Logger logger = context.getLogger("com.example.animeservice.Foo");
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, level, message, error, null);
+        event.setInstant(LocalDateTime.parse(timestamp.replace(' ', 'T'))
+                .atZone(ZoneId.systemDefault()).toInstant());
+        return new String(new JsonLogEncoder().encode(event), StandardCharsets.UTF_8).strip();
+    }
+
+    private List<String> extract() throws IOException {
+        Path target = logDir.resolve("out.log");
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            extractor.extract(extractor.plan(DAY), out, bytes -> { });
+        }
+        return Files.readAllLines(target);
+    }
+
+    @Test
+    void findSegments_MatchesOnlyRolledSegmentsOfDateInIndexOrder() throws IOException {
+        write("app-2024-05-20.10.log", "2024-05-20 20:00:00 INFO  a - ten");
+        write("app-2024-05-20.2.log", "2024-05-20 10:00:00 INFO  a - two");
+        writeGzip("app-2024-05-20.3.log.gz", "2024-05-20 11:00:00 INFO  a - three");
+        write("app-2024-05-21.0.log", "2024-05-21 00:00:00 INFO  a - other day");
+        write("app-2024-05-20.log", "2024-05-20 00:00:00 INFO  a - extracted");
+
+        List<LogSegment> segments = extractor.findSegments(DAY);
+
+        assertEquals(List.of(2, 3, 10), segments.stream().map(LogSegment::index).toList());
+        assertTrue(segments.get(1).compressed());
+    }
+
+    @Test
+    void extract_LiveLogWithOutOfOrderLinesAtMidnight_CopiesOnlyLinesOfDate() throws IOException {
+        write("app.log",
+                "2024-05-20 00:00:00 INFO  a - first",
+                "2024-05-19 23:59:59 INFO  a - late from the previous day",
+                "2024-05-20 10:00:00 INFO  a - live",
+                "2024-05-21 00:00:00 INFO  a - tomorrow",
+                "2024-05-20 23:59:59 INFO  a - late");
+
+        assertEquals(List.of(
+                "2024-05-20 00:00:00 INFO  a - first",
+                "2024-05-20 10:00:00 INFO  a - live",
+                "2024-05-20 23:59:59 INFO  a - late"), extract());
+    }
+
+    @Test
+    void extract_MergesSegmentsAndLiveLogInTimestampOrder() throws IOException {
+        write("app-2024-05-20.0.log",
+                "2024-05-20 00:00:01 INFO  a - first",
+                "2024-05-20 01:00:00 ERROR a - failed",
+                "java.lang.IllegalStateException: boom");
+        writeGzip("app-2024-05-20.1.log.gz",
+                "2024-05-20 08:00:00 INFO  a - compressed");
+        write("app.log",
+                "2024-05-20 22:00:00 INFO  a - live",
+                "2024-05-21 00:00:01 INFO  a - tomorrow");
+
+        assertEquals(List.of(
+                "2024-05-20 00:00:01 INFO  a - first",
+                "2024-05-20 01:00:00 ERROR a - failed",
+                "java.lang.IllegalStateException: boom",
+                "2024-05-20 08:00:00 INFO  a - compressed",
+                "2024-05-20 22:00:00 INFO  a - live"), extract());
+    }
+
+    @Test
+    void extract_MixedTextAndJsonRecords_KeepsBothFormatsOfTheDay() throws IOException {
+        String failed = json("2024-05-20 09:00:00.250", Level.ERROR, "failed",
+                new IllegalStateException("boom"));
+        String last = json("2024-05-20 23:59:59.999", Level.INFO, "last", null);
+        write("app-2024-05-20.0.log",
+                json("2024-05-19 23:59:59.999", Level.INFO, "late", null),
+                "2024-05-20 08:00:00 WARN  a - text before the switch",
+                "java.lang.IllegalStateException: boom",
+                failed);
+        write("app.log",
+                "2024-05-20 22:00:00 INFO  a - text after a restart",
+                last,
+                json("2024-05-21 00:00:00.000", Level.INFO, "next", null),
+                "2024-05-21 00:00:01 INFO  a - tomorrow");
+
+        assertEquals(List.of(
+                "2024-05-20 08:00:00 WARN  a - text before the switch",
+                "java.lang.IllegalStateException: boom",
+                failed,
+                "2024-05-20 22:00:00 INFO  a - text after a restart",
+                last), extract());
+    }
+
+    @Test
+    void extract_DropsForeignLinesAndCleansUpTemporaryParts() throws IOException {
+        write("app-2024-05-20.0.log",
+                "2024-05-19 23:59:59 INFO  a - late write",
+                "2024-05-20 00:00:01 INFO  a - kept");
+
+        assertEquals(List.of("2024-05-20 00:00:01 INFO  a - kept"), extract());
+        try (Stream<Path> files = Files.list(logDir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void extract_LiveLogRolledOverAfterPlan_Fails() throws IOException {
+        write("app.log", "2024-05-20 10:00:00 INFO  a - live");
+        LogExtractionPlan plan = extractor.plan(DAY);
+        Files.move(logDir.resolve("app.log"), logDir.resolve("app-2024-05-20.0.log"));
+        write("app.log", "2024-05-20 11:00:00 INFO  a - after the rollover of the live log");
+
+        try (FileChannel out = FileChannel.open(logDir.resolve("out.log"),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertThrows(IOException.class, () -> extractor.extract(plan, out, bytes -> { }));
+        }
+        assertEquals(0, Files.size(logDir.resolve("out.log")));
+    }
+
+    @Test
+    void plan_NoData_IsEmpty() throws IOException {
+        assertTrue(extractor.plan(DAY).isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.animeservice.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLogScannerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @TempDir
+    Path logDir;
+
+    private final MappedLogScanner scanner = new MappedLogScanner(4, 64, 64);
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    private String read(List<LogRange> ranges) throws IOException {
+        StringBuilder out = new StringBuilder();
+        for (LogRange range : ranges) {
+            try (FileChannel channel = FileChannel.open(range.file())) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) range.length());
+                channel.read(buffer, range.start());
+                out.append(new String(buffer.array(), StandardCharsets.UTF_8));
+            }
+        }
+        return out.toString();
+    }
+
+    @Test
+    void findDayRanges_ChunkedScan_MatchesLineByLineFilter() throws IOException {
+        Random random = new Random(42);
+        List<String> lines = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        boolean inDay = false;
+        for (int i = 0; i < 500; i++) {
+            String line;
+            if (random.nextInt(4) == 0) {
+                line = "\tat com.example.Frame.method(Frame.java:" + i + ")";
+            } else {
+                int day = 19 + random.nextInt(3);
+                line = "2024-05-" + day + " 1" + random.nextInt(10) + ":00:00 INFO  a - msg " + i;
+                inDay = day == 20;
+            }
+            lines.add(line);
+            if (inDay) {
+                expected.append(line).append('\n');
+            }
+        }
+        Path file = logDir.resolve("app-2024-05-20.0.log");
+        Files.write(file, lines);
+
+        List<LogRange> ranges = scanner.findDayRanges(file, DAY);
+
+        assertEquals(expected.toString(), read(ranges));
+        for (int i = 1; i < ranges.size(); i++) {
+            assertTrue(ranges.get(i).start() > ranges.get(i - 1).end());
+        }
+    }
+
+    @Test
+    void findDayRanges_SegmentAtRolloverCapWithDefaultChunking_ScansChunkPerWorker()
+            throws IOException {
+        MappedLogScanner defaults = new MappedLogScanner(4, 67_108_864, 1_048_576);
+        String line = "2024-05-20 10:00:00 INFO  com.example.Service - segment line";
+        Path file = logDir.resolve("app-2024-05-20.0.log");
+        Files.write(file, Collections.nCopies(10 * 1024 * 1024 / line.length(), line));
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(5, defaults.chunkBounds(channel, channel.size()).length);
+
+            assertEquals(List.of(new LogRange(file, 0, channel.size())),
+                    defaults.findDayRanges(file, DAY));
+        } finally {
+            defaults.shutdown();
+        }
+    }
+
+    @Test
+    void findDayRanges_ContinuationLinesAcrossChunks_StayWithTheirEntry() throws IOException {
+        Path file = logDir.resolve("app.log");
+        Files.write(file, List.of(
+                "2024-05-20 10:00:00 ERROR a - failed",
+                "java.lang.IllegalStateException: boom boom boom boom boom boom boom",
+                "\tat com.example.Frame.method(Frame.java:1) and a long tail of text",
+                "2024-05-21 00:00:00 INFO  a - next day",
+                "\tat com.example.Frame.method(Frame.java:2) and a long tail of text"));
+
+        assertEquals("2024-05-20 10:00:00 ERROR a - failed\n"
+                + "java.lang.IllegalStateException: boom boom boom boom boom boom boom\n"
+                + "\tat com.example.Frame.method(Frame.java:1) and a long tail of text\n",
+                read(scanner.findDayRanges(file, DAY)));
+    }
+
+    @Test
+    void findDayRanges_LastLineWithoutNewline_IsIncluded() throws IOException {
+        Path file = logDir.resolve("app.log");
+        Files.writeString(file, "2024-05-20 10:00:00 INFO  a - tail");
+
+        assertEquals("2024-05-20 10:00:00 INFO  a - tail",
+                read(scanner.findDayRanges(file, DAY)));
+    }
+
+    @Test
+    void findDayRanges_EmptyFile_ReturnsNoRanges() throws IOException {
+        Path file = Files.createFile(logDir.resolve("app.log"));
+
+        assertTrue(scanner.findDayRanges(file, DAY).isEmpty());
+    }
+
+    @Test
+    void findDayRanges_JsonRecords_MatchOnTimestampAfterPrefix() throws IOException {
+        String first = "{\"ts\":\"2024-05-20 00:00:01.000\",\"level\":\"INFO\",\"msg\":\"a\"}";
+        String second = "{\"ts\":\"2024-05-20 12:00:00.000\",\"level\":\"WARN\",\"msg\":\"b\"}";
+        Path file = logDir.resolve("app.log");
+        Files.write(file, List.of(
+                "2024-05-19 23:59:59 INFO  a - text before",
+                first,
+                second,
+                "{\"ts\":\"2024-05-21 00:00:00.000\",\"level\":\"INFO\",\"msg\":\"c\"}"));
+
+        assertEquals(first + "\n" + second + "\n", read(scanner.findDayRanges(file, DAY)));
+    }
+}
@@ -2,7 +2,9 @@ package com.example.animeservice.service;
 
 import com.example.animeservice.cache.CacheService;
 import com.example.animeservice.dto.AnimeDto;
+import com.example.animeservice.dto.AnimeFacetsDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Anime;
 import com.example.animeservice.model.Collection;
 import com.example.animeservice.repository.AnimeRepository;
@@ -38,6 +40,9 @@ class AnimeServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private CollectionMembershipIndex membershipIndex;
+
     @InjectMocks
     private AnimeService animeService;
 
@@ -112,7 +117,7 @@ class AnimeServiceTest {
 
         assertEquals(animeDto, result);
         verify(animeRepository).save(any(Anime.class));
-        verify(cacheService, times(3)).invalidateByPrefix(anyString());
+        verify(cacheService, times(4)).invalidateByPrefix(anyString());
     }
 
     @Test
@@ -125,7 +130,7 @@ class AnimeServiceTest {
         assertEquals(animeDto, result);
         verify(animeRepository).findById(1L);
         verify(animeRepository).save(any(Anime.class));
-        verify(cacheService, times(3)).invalidateByPrefix(anyString());
+        verify(cacheService, times(4)).invalidateByPrefix(anyString());
     }
 
     @Test
@@ -138,44 +143,58 @@ class AnimeServiceTest {
     }
 
     @Test
-    void deleteAnime_Success_CompletesWithoutException() {
-        collection.setAnimes(new ArrayList<>(Arrays.asList(anime)));
-        anime.setCollections(Arrays.asList(collection));
-        when(animeRepository.findById(1L)).thenReturn(Optional.of(anime));
-        when(collectionRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
+    void deleteAnime_Success_DeletesMembershipsWithoutLoadingCollections() {
+        when(animeRepository.existsById(1L)).thenReturn(true);
 
         animeService.deleteAnime(1L);
 
-        verify(animeRepository).findById(1L);
-        verify(collectionRepository).saveAll(anyList());
-        verify(animeRepository).delete(eq(anime));
+        verify(collectionRepository).deleteMembershipsByAnimeIds(List.of(1L));
+        verify(animeRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(membershipIndex).removeAnimes(List.of(1L));
+        verify(collectionRepository, never()).saveAll(anyList());
+        verify(animeRepository, never()).findById(anyLong());
         verify(cacheService).invalidate("anime_1");
-        verify(cacheService, times(2)).invalidateByPrefix(anyString());
+        verify(cacheService).invalidateByPrefix("anime_search_");
+        verify(cacheService).invalidateByPrefix("anime_facets_");
+        verify(cacheService).invalidateByPrefix("collection_");
     }
 
     @Test
     void deleteAnime_NotFound_ThrowsEntityNotFoundException() {
-        when(animeRepository.findById(1L)).thenReturn(Optional.empty());
+        when(animeRepository.existsById(1L)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> animeService.deleteAnime(1L));
-        verify(animeRepository).findById(1L);
-        verify(animeRepository, never()).delete(any(Anime.class));
+        verify(animeRepository).existsById(1L);
+        verify(animeRepository, never()).deleteAllByIdInBatch(any());
+        verify(collectionRepository, never()).deleteMembershipsByAnimeIds(any());
         verify(cacheService, never()).invalidate(anyString());
     }
 
     @Test
-    void deleteAnime_NoCollections_CompletesWithoutException() {
-        anime.setCollections(Collections.emptyList());
-        when(animeRepository.findById(1L)).thenReturn(Optional.of(anime));
-        when(collectionRepository.saveAll(Collections.emptyList())).thenReturn(Collections.emptyList());
+    void deleteAnimes_Success_DeletesDistinctIds() {
+        when(animeRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
 
-        animeService.deleteAnime(1L);
+        animeService.deleteAnimes(Arrays.asList(1L, 2L, 1L));
 
-        verify(animeRepository).findById(1L);
-        verify(collectionRepository).saveAll(Collections.emptyList());
-        verify(animeRepository).delete(eq(anime));
-        verify(cacheService).invalidate("anime_1");
-        verify(cacheService, times(2)).invalidateByPrefix(anyString());
+        verify(collectionRepository).deleteMembershipsByAnimeIds(List.of(1L, 2L));
+        verify(animeRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(membershipIndex).removeAnimes(List.of(1L, 2L));
+        verify(cacheService).invalidateByPrefix("anime_");
+    }
+
+    @Test
+    void deleteAnimes_MissingId_ThrowsEntityNotFoundException() {
+        when(animeRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> animeService.deleteAnimes(List.of(1L, 2L)));
+        verify(animeRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void deleteAnimes_EmptyList_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> animeService.deleteAnimes(Collections.emptyList()));
     }
 
     @Test
@@ -315,6 +334,37 @@ class AnimeServiceTest {
         verify(cacheService).put("anime_search___", result);
     }
 
+    @Test
+    void getAnimeFacets_CacheMiss_GroupsCountsByGenreAndYear() {
+        when(cacheService.get("anime_facets__Action_")).thenReturn(null);
+        when(animeRepository.countFacetsByParams(null, "Action", null)).thenReturn(Arrays.asList(
+                new Object[]{"Action", null, 3L, 0},
+                new Object[]{null, null, 1L, 0},
+                new Object[]{null, 2002, 2L, 1},
+                new Object[]{null, 2004, 2L, 1}));
+
+        AnimeFacetsDto result = animeService.getAnimeFacets(null, "Action", null);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(1, result.getGenres().size());
+        assertEquals(3L, result.getGenres().get("Action"));
+        assertEquals(2L, result.getReleaseYears().get(2002));
+        assertEquals(2L, result.getReleaseYears().get(2004));
+        verify(cacheService).put("anime_facets__Action_", result);
+    }
+
+    @Test
+    void getAnimeFacets_CacheHit_ReturnsCachedFacets() {
+        AnimeFacetsDto cachedFacets = new AnimeFacetsDto(0, Collections.emptyMap(),
+                Collections.emptyMap());
+        when(cacheService.get("anime_facets_Naruto__")).thenReturn(cachedFacets);
+
+        AnimeFacetsDto result = animeService.getAnimeFacets("Naruto", null, null);
+
+        assertSame(cachedFacets, result);
+        verify(animeRepository, never()).countFacetsByParams(any(), any(), any());
+    }
+
     @Test
     void createAnimes_Success_ReturnsListOfAnimeDtos() {
         when(animeRepository.saveAll(anyList())).thenReturn(Arrays.asList(anime));
@@ -324,7 +374,7 @@ class AnimeServiceTest {
         assertEquals(1, result.size());
         assertEquals(animeDto, result.get(0));
         verify(animeRepository).saveAll(anyList());
-        verify(cacheService, times(3)).invalidateByPrefix(anyString());
+        verify(cacheService, times(4)).invalidateByPrefix(anyString());
     }
 
     @Test
@@ -337,6 +387,7 @@ class AnimeServiceTest {
         verify(animeRepository).saveAll(Collections.emptyList());
         verify(cacheService).invalidateByPrefix("anime_");
         verify(cacheService).invalidateByPrefix("anime_search_");
+        verify(cacheService).invalidateByPrefix("anime_facets_");
         verify(cacheService).invalidateByPrefix("collection_search_anime_");
     }
 }
\ No newline at end of file
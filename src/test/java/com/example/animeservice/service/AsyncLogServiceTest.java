@@ -0,0 +1,332 @@
+package com.example.animeservice.service;
+
+import com.example.animeservice.dto.LogStatusResponse;
+import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.logs.LogJobStore;
+import com.example.animeservice.logs.LogOffsetIndex;
+import com.example.animeservice.logs.LogSegmentExtractor;
+import com.example.animeservice.logs.MappedLogScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AsyncLogServiceTest {
+
+    @TempDir
+    Path logDir;
+
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor segmentExecutor;
+    private ThreadPoolTaskScheduler scheduler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+        segmentExecutor.shutdown();
+        scheduler.shutdown();
+    }
+
+    private AsyncLogService createService(int queueCapacity) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        segmentExecutor = new ThreadPoolTaskExecutor();
+        segmentExecutor.setCorePoolSize(2);
+        segmentExecutor.initialize();
+        LogSegmentExtractor extractor = new LogSegmentExtractor(logDir.toString(),
+                new LogOffsetIndex(logDir.toString()),
+                new MappedLogScanner(2, 1024, 1024), segmentExecutor);
+        LogJobStore store = new LogJobStore(new ObjectMapper().findAndRegisterModules(),
+                logDir.resolve(".log-jobs.json").toString(), 100, 60);
+        scheduler = spy(new ThreadPoolTaskScheduler());
+        scheduler.initialize();
+        return new AsyncLogService(executor, extractor, store, logDir.toString(), true,
+                scheduler, 5, 60, 50);
+    }
+
+    private void occupyWorker() {
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+    }
+
+    private LogStatusResponse awaitTerminal(AsyncLogService service, String logId)
+            throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            LogStatusResponse status = service.getLogStatus(logId);
+            if (!"QUEUED".equals(status.getStatus()) && !"IN_PROGRESS".equals(status.getStatus())) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Log job did not finish");
+        return null;
+    }
+
+    @Test
+    void submitLogJob_ExtractsEntriesForDateInBackground() throws Exception {
+        Files.write(logDir.resolve("app.log"), List.of(
+                "2024-05-19 23:59:59 INFO  a - before",
+                "2024-05-20 00:00:01 INFO  a - first",
+                "2024-05-20 12:00:00 WARN  a - second",
+                "2024-05-21 00:00:00 INFO  a - after"));
+        AsyncLogService service = createService(4);
+
+        String logId = service.submitLogJob("2024-05-20");
+        LogStatusResponse status = awaitTerminal(service, logId);
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(100, status.getProgress());
+        assertEquals(List.of("2024-05-20 00:00:01 INFO  a - first",
+                        "2024-05-20 12:00:00 WARN  a - second"),
+                Files.readAllLines(logDir.resolve("app-2024-05-20." + logId + ".log")));
+        assertTrue(Files.exists(logDir.resolve("app-2024-05-20." + logId + ".log.gz")));
+    }
+
+    @Test
+    void submitLogJob_SameDateInFlight_ReturnsSameJob() throws Exception {
+        AsyncLogService service = createService(4);
+        occupyWorker();
+
+        String first = service.submitLogJob("2024-05-20");
+        String second = service.submitLogJob("2024-05-20");
+        String otherDate = service.submitLogJob("2024-05-21");
+
+        assertEquals(first, second);
+        assertNotEquals(first, otherDate);
+    }
+
+    @Test
+    void submitLogJob_CompletedExtract_IsReusedUntilSourceChanges() throws Exception {
+        Path source = logDir.resolve("app.log");
+        Files.write(source, List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        String first = service.submitLogJob("2024-05-20");
+        awaitTerminal(service, first);
+
+        assertEquals(first, service.submitLogJob("2024-05-20"));
+
+        Files.write(source, List.of("2024-05-20 11:00:00 INFO  a - second"),
+                StandardOpenOption.APPEND);
+        String refreshed = service.submitLogJob("2024-05-20");
+        awaitTerminal(service, refreshed);
+
+        assertNotEquals(first, refreshed);
+        assertEquals(2, Files.readAllLines(logDir.resolve("app-2024-05-20." + refreshed + ".log"))
+                .size());
+    }
+
+    @Test
+    void submitLogJob_ReExtraction_WritesNewFileAndLeavesNoTemporaryFiles() throws Exception {
+        Path source = logDir.resolve("app.log");
+        Files.write(source, List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        awaitTerminal(service, service.submitLogJob("2024-05-20"));
+        Path extract = service.findLogFile("2024-05-20").orElseThrow().toPath();
+        try (InputStream reader = Files.newInputStream(extract)) {
+            Files.write(source, List.of("2024-05-20 11:00:00 INFO  a - second"),
+                    StandardOpenOption.APPEND);
+            awaitTerminal(service, service.submitLogJob("2024-05-20"));
+
+            assertEquals("2024-05-20 10:00:00 INFO  a - first" + System.lineSeparator(),
+                    new String(reader.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        Path refreshed = service.findLogFile("2024-05-20").orElseThrow().toPath();
+        assertNotEquals(extract, refreshed);
+        assertEquals(1, Files.readAllLines(extract).size());
+        assertEquals(2, Files.readAllLines(refreshed).size());
+        try (Stream<Path> files = Files.list(logDir)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void deleteSupersededExtracts_KeepsCurrentAndRecentlySupersededExtracts() throws Exception {
+        Path source = logDir.resolve("app.log");
+        Files.write(source, List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        awaitTerminal(service, service.submitLogJob("2024-05-20"));
+        Path superseded = service.findLogFile("2024-05-20").orElseThrow().toPath();
+        Files.write(source, List.of("2024-05-20 11:00:00 INFO  a - second"),
+                StandardOpenOption.APPEND);
+        awaitTerminal(service, service.submitLogJob("2024-05-20"));
+        Path current = service.findLogFile("2024-05-20").orElseThrow().toPath();
+        Path orphan = logDir.resolve("app-2024-05-19.00000000-0000-0000-0000-000000000000.log");
+        Files.createFile(orphan);
+        Files.setLastModifiedTime(orphan,
+                FileTime.from(Instant.now().minus(Duration.ofMinutes(10))));
+
+        service.deleteSupersededExtracts();
+
+        assertTrue(Files.exists(current));
+        assertTrue(Files.exists(superseded));
+        assertFalse(Files.exists(orphan));
+    }
+
+    @Test
+    void removeAbandonedTemporaryFiles_DeletesOnlyLeftoverExtractParts() throws IOException {
+        Files.createFile(logDir.resolve(".extract-123.tmp"));
+        Files.createFile(logDir.resolve(".segment-456.tmp"));
+        Files.createFile(logDir.resolve("app.log"));
+
+        createService(4).removeAbandonedTemporaryFiles();
+
+        try (Stream<Path> files = Files.list(logDir)) {
+            assertEquals(List.of(logDir.resolve("app.log")), files.toList());
+        }
+    }
+
+    @Test
+    void findLogFile_NoCompletedExtract_ReturnsEmptyWithoutWaiting() throws Exception {
+        Files.write(logDir.resolve("app.log"), List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        service.submitLogJob("2024-05-20");
+
+        assertTrue(service.findLogFile("2024-05-20").isEmpty());
+    }
+
+    @Test
+    void findLogFile_SourceChangedSinceExtraction_ServesCompletedExtract() throws Exception {
+        Path source = logDir.resolve("app.log");
+        Files.write(source, List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        awaitTerminal(service, service.submitLogJob("2024-05-20"));
+        Files.write(source, List.of("2024-05-20 11:00:00 INFO  a - second"),
+                StandardOpenOption.APPEND);
+
+        File logFile = service.findLogFile("2024-05-20").orElseThrow();
+
+        assertEquals(1, Files.readAllLines(logFile.toPath()).size());
+        assertEquals(1L, service.countJobsByStatus().get("COMPLETED"));
+    }
+
+    @Test
+    void submitLogJob_InvalidDate_ThrowsIllegalArgumentException() {
+        AsyncLogService service = createService(4);
+
+        assertThrows(IllegalArgumentException.class, () -> service.submitLogJob("20-05-2024"));
+    }
+
+    @Test
+    void submitLogJob_QueueFull_ThrowsRejectedExecutionException() {
+        AsyncLogService service = createService(0);
+        occupyWorker();
+
+        assertThrows(RejectedExecutionException.class, () -> service.submitLogJob("2024-05-20"));
+        assertTrue(service.countJobsByStatus().isEmpty());
+    }
+
+    @Test
+    void cancelLogJob_QueuedJob_NeverRuns() throws Exception {
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        String logId = service.submitLogJob("2024-05-20");
+
+        LogStatusResponse cancelled = service.cancelLogJob(logId);
+        release.countDown();
+
+        assertEquals("CANCELLED", cancelled.getStatus());
+        assertEquals("CANCELLED", awaitTerminal(service, logId).getStatus());
+        assertFalse(Files.exists(logDir.resolve("app-2024-05-20." + logId + ".log")));
+    }
+
+    @Test
+    void cancelLogJob_UnknownId_ThrowsEntityNotFoundException() {
+        AsyncLogService service = createService(4);
+
+        assertThrows(EntityNotFoundException.class, () -> service.cancelLogJob("missing"));
+    }
+
+    @Test
+    void getLogStatus_UnknownId_ReturnsNotFound() {
+        AsyncLogService service = createService(4);
+
+        assertEquals("NOT_FOUND", service.getLogStatus("missing").getStatus());
+    }
+
+    @Test
+    void awaitLogStatus_JobFinishes_CompletesWithFinalStatus() throws Exception {
+        Files.write(logDir.resolve("app.log"), List.of("2024-05-20 10:00:00 INFO  a - first"));
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        String logId = service.submitLogJob("2024-05-20");
+
+        CompletableFuture<LogStatusResponse> status = service.awaitLogStatus(logId, 5);
+        assertFalse(status.isDone());
+        release.countDown();
+
+        assertEquals("COMPLETED", status.get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void awaitLogStatus_WaitElapses_CompletesWithCurrentStatus() throws Exception {
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        String logId = service.submitLogJob("2024-05-20");
+
+        LogStatusResponse status = service.awaitLogStatus(logId, 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals("QUEUED", status.getStatus());
+    }
+
+    @Test
+    void awaitLogStatus_WithoutWait_ReturnsImmediately() throws Exception {
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        String logId = service.submitLogJob("2024-05-20");
+
+        assertTrue(service.awaitLogStatus(logId, 0).isDone());
+        assertEquals("NOT_FOUND", service.awaitLogStatus("missing", 5).get().getStatus());
+    }
+
+    @Test
+    void streamLogStatus_UnknownId_ThrowsEntityNotFoundException() {
+        AsyncLogService service = createService(4);
+
+        assertThrows(EntityNotFoundException.class, () -> service.streamLogStatus("missing"));
+    }
+
+    @Test
+    void streamLogStatus_JobFinishes_SendsFinalStatusFromStatusScheduler() throws Exception {
+        AsyncLogService service = createService(4);
+        occupyWorker();
+        String logId = service.submitLogJob("2024-05-20");
+
+        service.streamLogStatus(logId);
+        verify(scheduler).scheduleAtFixedRate(any(Runnable.class), any(Duration.class));
+        release.countDown();
+
+        verify(scheduler, timeout(5000)).schedule(any(Runnable.class), any(Instant.class));
+    }
+}
@@ -4,6 +4,7 @@ import com.example.animeservice.cache.CacheService;
 import com.example.animeservice.dto.CollectionDto;
 import com.example.animeservice.dto.CollectionWithAnimeDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Anime;
 import com.example.animeservice.model.Collection;
 import com.example.animeservice.model.User;
@@ -23,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +45,9 @@ class CollectionServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private CollectionMembershipIndex membershipIndex;
+
     @InjectMocks
     private CollectionService collectionService;
 
@@ -309,6 +314,95 @@ class CollectionServiceTest {
         verify(collectionRepository).findByAnimesId(1L);
         verify(cacheService).put("collection_search__1", result);
     }
+    @Test
+    void searchCollections_ByAnimeIdWithReadyIndex_UsesIndex() {
+        when(cacheService.get("collection_search__1")).thenReturn(null);
+        when(membershipIndex.isReady()).thenReturn(true);
+        when(membershipIndex.findCollectionIdsContaining(1L)).thenReturn(List.of(1L));
+        when(collectionRepository.findAllById(List.of(1L))).thenReturn(Arrays.asList(collection));
+
+        List<CollectionDto> result = collectionService.searchCollections(null, 1L);
+
+        assertEquals(1, result.size());
+        assertEquals(collectionDto, result.get(0));
+        verify(collectionRepository, never()).findByAnimesId(anyLong());
+    }
+
+    @Test
+    void searchCollectionsContainingAll_ReadyIndex_ReturnsIntersection() {
+        when(membershipIndex.isReady()).thenReturn(true);
+        when(membershipIndex.findCollectionIdsContainingAll(List.of(1L, 2L)))
+                .thenReturn(Collections.emptyList());
+
+        List<CollectionDto> result = collectionService.searchCollectionsContainingAll(List.of(1L, 2L));
+
+        assertTrue(result.isEmpty());
+        verify(collectionRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchCollectionsContainingAll_IndexNotReady_FallsBackToQuery() {
+        when(collectionRepository.findContainingAllAnimes(List.of(1L, 1L), 1L))
+                .thenReturn(Arrays.asList(collection));
+
+        List<CollectionDto> result = collectionService.searchCollectionsContainingAll(List.of(1L, 1L));
+
+        assertEquals(1, result.size());
+        assertEquals(collectionDto, result.get(0));
+    }
+
+    @Test
+    void searchCollectionsContainingAll_NoIds_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> collectionService.searchCollectionsContainingAll(Collections.emptyList()));
+    }
+
+    @Test
+    void addAnimesToCollection_Success_InsertsOnlyNewRows() {
+        when(collectionRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(animeRepository.findExistingIds(List.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+
+        collectionService.addAnimesToCollection(1L, Arrays.asList(2L, 3L, 2L));
+
+        verify(collectionRepository).addMemberships(1L, List.of(2L, 3L));
+        verify(membershipIndex).addMemberships(1L, List.of(2L, 3L));
+        verify(collectionRepository, never()).save(any(Collection.class));
+        verify(animeRepository, never()).findAllById(any());
+        verify(cacheService).invalidate("collection_1");
+        verify(cacheService).invalidate("user_collections_1");
+        verify(cacheService, never()).invalidateByPrefix("collection_");
+    }
+
+    @Test
+    void addAnimesToCollection_AnimeNotFound_ThrowsEntityNotFoundException() {
+        when(collectionRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+        when(animeRepository.findExistingIds(List.of(2L))).thenReturn(Collections.emptyList());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> collectionService.addAnimesToCollection(1L, List.of(2L)));
+        verify(collectionRepository, never()).addMemberships(anyLong(), any());
+    }
+
+    @Test
+    void removeAnimesFromCollection_Success_DeletesOnlyGivenRows() {
+        when(collectionRepository.findUserIdById(1L)).thenReturn(Optional.of(1L));
+
+        collectionService.removeAnimesFromCollection(1L, List.of(1L));
+
+        verify(collectionRepository).removeMemberships(1L, List.of(1L));
+        verify(membershipIndex).removeMemberships(1L, List.of(1L));
+        verify(cacheService).invalidate("collection_1");
+    }
+
+    @Test
+    void removeAnimesFromCollection_CollectionNotFound_ThrowsEntityNotFoundException() {
+        when(collectionRepository.findUserIdById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> collectionService.removeAnimesFromCollection(1L, List.of(1L)));
+        verify(collectionRepository, never()).removeMemberships(anyLong(), any());
+    }
+
     @Test
     void searchCollections_NoParameters_ThrowsIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> collectionService.searchCollections(null, null));
@@ -318,7 +412,7 @@ class CollectionServiceTest {
         Object[] row = {1L, "My Collection", 1L, "Naruto", "Action", 2002};
         when(cacheService.get("collection_search_anime_Naruto_Action_2002")).thenReturn(null);
         when(collectionRepository.searchCollectionsWithAnimeByParams("Naruto", "Action", 2002))
-                .thenReturn(Collections.singletonList(row));
+                .thenReturn(Stream.<Object[]>of(row));
 
         List<CollectionWithAnimeDto> result = collectionService.searchCollectionsByAnimeParams("Naruto", "Action", 2002);
 
@@ -335,7 +429,7 @@ class CollectionServiceTest {
         Object[] row = {1L, "My Collection", 1L, "Naruto", "Action", null};
         when(cacheService.get("collection_search_anime_Naruto_Action_")).thenReturn(null);
         when(collectionRepository.searchCollectionsWithAnimeByParams("Naruto", "Action", null))
-                .thenReturn(Collections.singletonList(row));
+                .thenReturn(Stream.<Object[]>of(row));
 
         List<CollectionWithAnimeDto> result = collectionService.searchCollectionsByAnimeParams("Naruto", "Action", null);
 
@@ -348,6 +442,25 @@ class CollectionServiceTest {
         verify(cacheService).put("collection_search_anime_Naruto_Action_", result);
     }
 
+    @Test
+    void streamCollectionsByAnimeParams_GroupsConsecutiveRowsPerCollection() {
+        when(collectionRepository.searchCollectionsWithAnimeByParams(null, "Action", null))
+                .thenReturn(Stream.of(
+                        new Object[]{1L, "First", 1L, "Naruto", "Action", 2002},
+                        new Object[]{1L, "First", 2L, "Bleach", "Action", 2004},
+                        new Object[]{2L, "Second", 1L, "Naruto", "Action", 2002}));
+        List<CollectionWithAnimeDto> emitted = new ArrayList<>();
+
+        collectionService.streamCollectionsByAnimeParams(null, "Action", null, emitted::add);
+
+        assertEquals(2, emitted.size());
+        assertEquals("First", emitted.get(0).getName());
+        assertEquals(2, emitted.get(0).getAnimes().size());
+        assertEquals("Second", emitted.get(1).getName());
+        assertEquals(1, emitted.get(1).getAnimes().size());
+        verify(cacheService, never()).put(anyString(), any());
+    }
+
     @Test
     void searchCollectionsByAnimeParams_NoParameters_ThrowsIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> collectionService.searchCollectionsByAnimeParams(null, null, null));
@@ -0,0 +1,70 @@
+package com.example.animeservice.service;
+
+import com.example.animeservice.cache.CacheService;
+import com.example.animeservice.dto.VisitDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsServiceTest {
+
+    @Mock
+    private VisitService visitService;
+
+    @Mock
+    private VisitEventDispatcher visitEventDispatcher;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private AsyncLogService asyncLogService;
+
+    @InjectMocks
+    private MetricsService metricsService;
+
+    @Test
+    void scrape_RendersAllMetricFamilies() {
+        VisitDto visit = new VisitDto();
+        visit.setUrl("/api/animes/{id}");
+        visit.setVisitCount(42);
+        when(visitService.getRouteVisits()).thenReturn(List.of(visit));
+        when(visitEventDispatcher.getDroppedEvents()).thenReturn(3L);
+        when(cacheService.getHitCount()).thenReturn(7L);
+        when(asyncLogService.countJobsByStatus()).thenReturn(Map.of("COMPLETED", 2L));
+        metricsService.recordLatency("AnimeController", "getAnimeById",
+                TimeUnit.MILLISECONDS.toNanos(20));
+
+        String text = metricsService.scrape();
+
+        assertTrue(text.contains("anime_visits_total{route=\"/api/animes/{id}\"} 42\n"));
+        assertTrue(text.contains("anime_visit_events_dropped_total 3\n"));
+        assertTrue(text.contains("# TYPE anime_cache_hits_total counter\n"));
+        assertTrue(text.contains("anime_cache_hits_total 7\n"));
+        assertTrue(text.contains("anime_log_jobs{status=\"COMPLETED\"} 2\n"));
+        assertTrue(text.contains("anime_http_request_duration_seconds_bucket{controller="
+                + "\"AnimeController\",method=\"getAnimeById\",le=\"0.025\"} 1\n"));
+        assertTrue(text.contains("anime_http_request_duration_seconds_count{controller="
+                + "\"AnimeController\",method=\"getAnimeById\"} 1\n"));
+    }
+
+    @Test
+    void scrape_EscapesLabelValues() {
+        VisitDto visit = new VisitDto();
+        visit.setUrl("/odd\"route");
+        when(visitService.getRouteVisits()).thenReturn(List.of(visit));
+        when(asyncLogService.countJobsByStatus()).thenReturn(Map.of());
+
+        assertTrue(metricsService.scrape().contains("route=\"/odd\\\"route\""));
+    }
+}
@@ -6,6 +6,7 @@ import com.example.animeservice.dto.CollectionWithAnimeDto;
 import com.example.animeservice.dto.UserDto;
 import com.example.animeservice.dto.UserWithCollectionsDto;
 import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.index.CollectionMembershipIndex;
 import com.example.animeservice.model.Anime;
 import com.example.animeservice.model.Collection;
 import com.example.animeservice.model.User;
@@ -39,6 +40,9 @@ class UserServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private CollectionMembershipIndex membershipIndex;
+
     @InjectMocks
     private UserService userService;
 
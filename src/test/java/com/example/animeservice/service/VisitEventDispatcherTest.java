@@ -0,0 +1,52 @@
+package com.example.animeservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitEventDispatcherTest {
+
+    @Mock
+    private VisitService visitService;
+
+    private VisitEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new VisitEventDispatcher(visitService, true, 16);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void publish_IdleConsumer_IsWokenAndRecordsVisit() throws InterruptedException {
+        Thread.sleep(100);
+
+        dispatcher.publish("/api/animes/{id}", "/api/animes/1", "10.0.0.1");
+
+        verify(visitService, timeout(200)).recordVisit(eq("/api/animes/{id}"),
+                eq("/api/animes/1"), eq("10.0.0.1"), anyLong());
+    }
+
+    @Test
+    void publish_PlainRoute_DropsUrlFromEvent() {
+        dispatcher.publish("/api/animes", "/api/animes", null);
+        dispatcher.publish("/api/animes", "/api/animes", null);
+
+        verify(visitService, timeout(500).times(2)).recordVisit(eq("/api/animes"), isNull(),
+                isNull(), anyLong());
+        assertEquals(0, dispatcher.getDroppedEvents());
+    }
+}
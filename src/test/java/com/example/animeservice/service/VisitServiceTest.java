@@ -0,0 +1,189 @@
+package com.example.animeservice.service;
+
+import com.example.animeservice.dto.HeavyHittersResponse;
+import com.example.animeservice.dto.UniqueVisitorsResponse;
+import com.example.animeservice.dto.VisitRateDto;
+import com.example.animeservice.exception.EntityNotFoundException;
+import com.example.animeservice.model.VisitCounter;
+import com.example.animeservice.repository.VisitCounterRepository;
+import com.example.animeservice.repository.VisitRepository;
+import com.example.animeservice.stats.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class VisitServiceTest {
+
+    private VisitRepository visitRepository;
+    private VisitCounterRepository visitCounterRepository;
+    private VisitService visitService;
+
+    @BeforeEach
+    void setUp() {
+        visitRepository = new VisitRepository(2, 4, false);
+        visitCounterRepository = mock(VisitCounterRepository.class);
+        visitService = new VisitService(visitRepository, visitCounterRepository, 7, true);
+        visitService.init();
+    }
+
+    @Test
+    void getVisitCount_UnknownUrl_ReturnsZero() {
+        assertEquals(0L, visitService.getVisitCount("/api/animes"));
+    }
+
+    @Test
+    void recordVisit_AggregatesByRouteTemplate() {
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/1", null);
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/2", null);
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+
+        assertEquals(2L, visitService.getVisitCount("/api/animes/{id}"));
+        assertEquals(1L, visitService.getVisitCount("/api/animes"));
+        assertEquals(1L, visitService.getVisitCount("/api/animes/1"));
+        assertEquals(2, visitService.getRouteVisits().size());
+    }
+
+    @Test
+    void getVisitRates_FiltersByRoute() {
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+        visitService.recordVisit("/api/users", "/api/users", null);
+
+        List<VisitRateDto> rates = visitService.getVisitRates("/api/animes");
+
+        assertEquals(1, rates.size());
+        assertEquals("/api/animes", rates.get(0).getRoute());
+        assertEquals(2, visitService.getVisitRates(null).size());
+    }
+
+    @Test
+    void getHeavyHitters_ReturnsMostVisitedUrlsWithinPrefix() {
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/1", null);
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/1", null);
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/1", null);
+        visitService.recordVisit("/api/collections/{id}", "/api/collections/7", null);
+        visitService.recordVisit("/api/animes/{id}", "/api/animes/2", null);
+
+        HeavyHittersResponse response = visitService.getHeavyHitters(10, "/api/animes/");
+
+        assertEquals(5L, response.getTotalVisits());
+        assertEquals(2L, response.getUntrackedBound());
+        assertEquals(2, response.getHitters().size());
+        assertEquals("/api/animes/1", response.getHitters().get(0).getUrl());
+        assertEquals(3L, response.getHitters().get(0).getVisitCount());
+        assertEquals(0L, response.getHitters().get(0).getMaxError());
+        assertEquals("/api/animes/2", response.getHitters().get(1).getUrl());
+        assertEquals(2L, response.getHitters().get(1).getVisitCount());
+        assertEquals(1L, response.getHitters().get(1).getMaxError());
+        assertEquals(0L, visitService.getVisitCount("/api/collections/7"));
+    }
+
+    @Test
+    void getHeavyHitters_NonPositiveLimit_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> visitService.getHeavyHitters(0, null));
+    }
+
+    @Test
+    void getUniqueVisitors_MergesDaysAndIgnoresRepeatClients() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 1000; i++) {
+            visitService.recordVisit("/api/animes", "/api/animes", "10.0.0." + i);
+            visitService.recordVisit("/api/animes", "/api/animes", "10.0.0." + i);
+        }
+        visitRepository.addVisitor(today.minusDays(1), "/api/animes",
+                HyperLogLog.hash("10.0.0.1"));
+
+        UniqueVisitorsResponse response = visitService.getUniqueVisitors("/api/animes",
+                today.minusDays(1), today);
+
+        assertEquals(1000, response.getUniqueVisitors(), 1000 * 0.05);
+        assertTrue(response.getStandardError() < 0.02);
+    }
+
+    @Test
+    void getUniqueVisitors_FromAfterTo_ThrowsIllegalArgumentException() {
+        LocalDate today = LocalDate.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> visitService.getUniqueVisitors("/api/animes", today, today.minusDays(1)));
+    }
+
+    @Test
+    void exportVisitorSketch_UnknownRoute_ThrowsEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class,
+                () -> visitService.exportVisitorSketch("/api/animes", LocalDate.now()));
+    }
+
+    @Test
+    void init_WriteBehindEnabled_RestoresPersistedCounts() {
+        when(visitCounterRepository.findAll())
+                .thenReturn(List.of(new VisitCounter("/api/animes", 40L)));
+        visitService.init();
+
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+
+        assertEquals(41L, visitService.getVisitCount("/api/animes"));
+    }
+
+    @Test
+    void flushVisitCounts_SendsOnlyDeltasSinceLastFlush() {
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+        visitService.flushVisitCounts();
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+        visitService.flushVisitCounts();
+        visitService.flushVisitCounts();
+
+        verify(visitCounterRepository).addVisitCounts(Map.of("/api/animes", 2L));
+        verify(visitCounterRepository).addVisitCounts(Map.of("/api/animes", 1L));
+        verify(visitCounterRepository, times(2)).addVisitCounts(anyMap());
+    }
+
+    @Test
+    void flushVisitCounts_FailedFlush_RetriesSameDelta() {
+        doThrow(new QueryTimeoutException("timeout"))
+                .doNothing()
+                .when(visitCounterRepository).addVisitCounts(anyMap());
+        visitService.recordVisit("/api/animes", "/api/animes", null);
+
+        visitService.flushVisitCounts();
+        visitService.flushVisitCounts();
+
+        verify(visitCounterRepository, times(2)).addVisitCounts(Map.of("/api/animes", 1L));
+    }
+
+    @Test
+    void recordVisit_ConcurrentIncrements_AreNotLost() throws Exception {
+        int threads = 8;
+        int incrementsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        visitService.recordVisit("/api/animes", "/api/animes", null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) threads * incrementsPerThread,
+                visitService.getVisitCount("/api/animes"));
+    }
+}
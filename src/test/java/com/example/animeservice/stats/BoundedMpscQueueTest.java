@@ -0,0 +1,80 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedMpscQueueTest {
+
+    @Test
+    void offer_FullBuffer_ReturnsFalseWithoutBlocking() {
+        BoundedMpscQueue<Integer> queue = new BoundedMpscQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    void poll_ReturnsElementsInOrderAndFreesSlots() {
+        BoundedMpscQueue<Integer> queue = new BoundedMpscQueue<>(2);
+        queue.offer(1);
+        queue.offer(2);
+
+        assertEquals(1, queue.poll());
+        assertTrue(queue.offer(3));
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void offer_ConcurrentProducers_DeliverEveryAcceptedElementOnce() throws Exception {
+        BoundedMpscQueue<Integer> queue = new BoundedMpscQueue<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        Set<Integer> received = new HashSet<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            while (received.size() < producers * perProducer) {
+                Integer element = queue.poll();
+                if (element != null) {
+                    assertTrue(received.add(element));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void constructor_NonPowerOfTwo_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedMpscQueue<>(100));
+    }
+}
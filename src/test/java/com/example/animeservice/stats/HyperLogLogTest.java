@@ -0,0 +1,84 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_EmptySketch_ReturnsZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimate_LargeCardinality_StaysWithinThreeStandardErrors() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 100_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("client-" + i);
+        }
+
+        double relativeError = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+
+        assertTrue(relativeError < 3 * sketch.standardError());
+    }
+
+    @Test
+    void merge_OverlappingSketches_EstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 6_000; i++) {
+            first.add("client-" + i);
+            second.add("client-" + (i + 4_000));
+        }
+
+        first.merge(second);
+
+        assertEquals(10_000, first.estimate(), 10_000 * 3 * first.standardError());
+    }
+
+    @Test
+    void fromByteArray_RoundTrip_PreservesEstimate() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 500; i++) {
+            sketch.add("client-" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromByteArray(sketch.toByteArray());
+
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    @Test
+    void merge_DifferentPrecision_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HyperLogLog(10).merge(new HyperLogLog(12)));
+    }
+
+    @Test
+    void addHash_ConcurrentWriters_MatchSequentialSketch() throws Exception {
+        HyperLogLog concurrent = new HyperLogLog();
+        HyperLogLog sequential = new HyperLogLog();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i < 40_000; i += threads.length) {
+                    concurrent.add("client-" + i);
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (int i = 0; i < 40_000; i++) {
+            sequential.add("client-" + i);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertArrayEquals(sequential.toByteArray(), concurrent.toByteArray());
+    }
+}
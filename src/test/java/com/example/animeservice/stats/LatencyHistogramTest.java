@@ -0,0 +1,35 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void record_PlacesSamplesInCumulativeBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(40));
+        histogram.record(TimeUnit.SECONDS.toNanos(30));
+
+        long[] counts = histogram.cumulativeCounts();
+
+        assertEquals(LatencyHistogram.BUCKET_BOUNDS_SECONDS.length + 1, counts.length);
+        assertEquals(1, counts[0]);
+        assertEquals(2, counts[3]);
+        assertEquals(2, counts[counts.length - 2]);
+        assertEquals(3, counts[counts.length - 1]);
+        assertEquals(30.043, histogram.sumSeconds(), 1e-9);
+    }
+
+    @Test
+    void record_BoundaryValue_CountsInThatBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, histogram.cumulativeCounts()[0]);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    void sum_CountsOnlyCompleteSecondsInsideWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(900);
+        counter.increment(NOW - 61);
+        counter.increment(NOW - 60);
+        counter.increment(NOW - 1);
+        counter.increment(NOW - 1);
+        counter.increment(NOW);
+
+        assertEquals(3, counter.sum(NOW, 60));
+        assertEquals(4, counter.sum(NOW, 300));
+        assertEquals(3.0 / 60, counter.ratePerSecond(NOW, 60));
+    }
+
+    @Test
+    void increment_ReusedBucket_DropsExpiredCount() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10);
+        counter.increment(NOW - 11);
+        counter.increment(NOW);
+
+        assertEquals(1, counter.sum(NOW + 1, 10));
+        assertEquals(1, counter.sum(NOW + 1, 1));
+    }
+
+    @Test
+    void increment_OlderSecondThanBucket_IsIgnored() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10);
+        counter.increment(NOW);
+        counter.increment(NOW - 11);
+
+        assertEquals(1, counter.sum(NOW + 1, 10));
+    }
+
+    @Test
+    void sum_WindowLargerThanCapacity_ThrowsIllegalArgumentException() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60);
+        assertThrows(IllegalArgumentException.class, () -> counter.sum(NOW, 61));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void offer_BelowCapacity_CountsExactly() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        topK.offer("a");
+        topK.offer("b");
+        topK.offer("a");
+
+        List<SpaceSavingTopK.Entry> top = topK.top(10, key -> true);
+
+        assertEquals(2, top.size());
+        assertEquals(new SpaceSavingTopK.Entry("a", 2, 0), top.get(0));
+        assertEquals(new SpaceSavingTopK.Entry("b", 1, 0), top.get(1));
+        assertEquals(0, topK.getUntrackedBound());
+    }
+
+    @Test
+    void offer_SkewedStream_KeepsHeavyHittersWithinErrorBounds() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(20);
+        for (int i = 0; i < 10_000; i++) {
+            topK.offer("hot-" + (i % 5));
+            topK.offer("cold-" + i);
+        }
+
+        List<SpaceSavingTopK.Entry> top = topK.top(5, key -> true);
+
+        assertEquals(20_000, topK.getTotal());
+        assertEquals(5, top.size());
+        for (SpaceSavingTopK.Entry entry : top) {
+            assertTrue(entry.key().startsWith("hot-"));
+            assertTrue(entry.count() >= 2_000);
+            assertTrue(entry.count() - entry.error() <= 2_000);
+        }
+        assertTrue(topK.getUntrackedBound() <= topK.getTotal() / 20);
+    }
+
+    @Test
+    void constructor_NonPositiveCapacity_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingTopK(0));
+    }
+}
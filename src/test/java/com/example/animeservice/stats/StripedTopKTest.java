@@ -0,0 +1,71 @@
+package com.example.animeservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTopKTest {
+
+    @Test
+    void offer_ConcurrentWriters_CountEveryOfferAndNeverUnderestimate() throws Exception {
+        StripedTopK topK = new StripedTopK(16, 4);
+        Map<String, LongAdder> exact = new ConcurrentHashMap<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    String key = i % 3 == 0 ? "/hot" : "/anime/" + ((i * 31 + seed) % 200);
+                    topK.offer(key);
+                    exact.computeIfAbsent(key, k -> new LongAdder()).increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(160_000, topK.getTotal());
+        List<SpaceSavingTopK.Entry> top = topK.top(5, key -> true);
+        assertEquals("/hot", top.get(0).key());
+        for (SpaceSavingTopK.Entry entry : top) {
+            long actual = exact.get(entry.key()).sum();
+            assertTrue(entry.count() >= actual);
+            assertTrue(entry.count() - entry.error() <= actual);
+            assertEquals(entry.count(), topK.estimate(entry.key()));
+        }
+    }
+
+    @Test
+    void top_SingleWriter_MatchesPlainSketch() {
+        StripedTopK topK = new StripedTopK(10, 8);
+        topK.offer("a");
+        topK.offer("a");
+        topK.offer("b");
+
+        assertEquals(List.of(new SpaceSavingTopK.Entry("a", 2, 0),
+                new SpaceSavingTopK.Entry("b", 1, 0)), topK.top(10, key -> true));
+        assertEquals(0, topK.getUntrackedBound());
+        assertFalse(topK.contains("c"));
+    }
+
+    @Test
+    void top_SingleStripeWithEvictions_MatchesPlainSketch() {
+        StripedTopK striped = new StripedTopK(2, 1);
+        SpaceSavingTopK plain = new SpaceSavingTopK(2);
+        for (String key : List.of("a", "b", "a", "c", "d", "a", "c")) {
+            striped.offer(key);
+            plain.offer(key);
+        }
+
+        assertEquals(plain.top(10, key -> true), striped.top(10, key -> true));
+        assertEquals(plain.getUntrackedBound(), striped.getUntrackedBound());
+    }
+}